@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+#
+# Time to first response: launches the service several times per mode and measures the time from
+# process start until GET /api/exchange answers 200.
+#
+#   mvn -Paot package -DskipTests
+#   scripts/startup-benchmark.sh [runs]
+#
+# Modes:
+#   jar      the executable jar, reflection-driven context (no AOT, no CDS)
+#   aot      the extracted jar with the AOT-generated context initializers
+#   aot-cds  the extracted jar with AOT plus the class-data-sharing archive from the training run
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(ls "$TARGET"/exchange-*.jar | grep -v original | head -n 1)"
+APPLICATION="$TARGET/application"
+EXTRACTED_JAR="$APPLICATION/$(basename "$JAR")"
+URL="http://localhost:$PORT/api/exchange?limit=1"
+
+if [[ ! -f "$APPLICATION/application.jsa" ]]; then
+  echo "Missing $APPLICATION/application.jsa, build with: mvn -Paot package -DskipTests" >&2
+  exit 1
+fi
+
+now_ms() {
+  date +%s%3N
+}
+
+first_response_ms() {
+  local start pid elapsed
+  start=$(now_ms)
+  "$@" --server.port="$PORT" > /dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Process exited before answering" >&2
+      return 1
+    fi
+    sleep 0.01
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo "$elapsed"
+}
+
+measure() {
+  local mode="$1"
+  shift
+  local samples=()
+  for _ in $(seq "$RUNS"); do
+    samples+=("$(first_response_ms "$@")")
+  done
+  local sorted
+  sorted=$(printf '%s\n' "${samples[@]}" | sort -n)
+  printf '%-8s median=%6s ms  min=%6s ms  max=%6s ms  (%s)\n' "$mode" \
+    "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+    "$(echo "$sorted" | head -n 1)" "$(echo "$sorted" | tail -n 1)" "${samples[*]}"
+}
+
+measure jar java -jar "$JAR"
+measure aot java -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR"
+measure aot-cds java -XX:SharedArchiveFile="$APPLICATION/application.jsa" -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR"
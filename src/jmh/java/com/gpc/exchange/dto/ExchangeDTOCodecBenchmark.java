@@ -0,0 +1,41 @@
+package com.gpc.exchange.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExchangeDTOCodecBenchmark {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private final ExchangeDTO dto = new ExchangeDTO(1L, 3.65, 3.8, LocalDateTime.of(2025, 5, 9, 13, 35, 0, 123_000_000));
+
+  private final String json = "{\"id\":1,\"buy\":3.65,\"sell\":3.8,\"dateTime\":\"2025-05-09T13:35:00.123\"}";
+
+  @Benchmark
+  public String encode() throws JsonProcessingException {
+    return objectMapper.writeValueAsString(dto);
+  }
+
+  @Benchmark
+  public ExchangeDTO decode() throws JsonProcessingException {
+    return objectMapper.readValue(json, ExchangeDTO.class);
+  }
+}
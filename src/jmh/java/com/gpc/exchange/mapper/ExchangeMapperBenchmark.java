@@ -0,0 +1,53 @@
+package com.gpc.exchange.mapper;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.model.Exchange;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExchangeMapperBenchmark {
+
+  private final ModelMapper modelMapper = new ModelMapper();
+
+  private final ExchangeMapper exchangeMapper = new ExchangeMapper();
+
+  private final Exchange model = new Exchange(1L, 3.5, 3.7, LocalDateTime.of(2025, 5, 9, 10, 20));
+
+  private final ExchangeDTO dto = new ExchangeDTO(null, 3.5, 3.7, LocalDateTime.of(2025, 5, 9, 10, 20));
+
+  @Benchmark
+  public ExchangeDTO modelMapperToDto() {
+    return modelMapper.map(model, ExchangeDTO.class);
+  }
+
+  @Benchmark
+  public Exchange modelMapperToModel() {
+    return modelMapper.map(dto, Exchange.class);
+  }
+
+  @Benchmark
+  public ExchangeDTO exchangeMapperToDto() {
+    return exchangeMapper.toDto(model);
+  }
+
+  @Benchmark
+  public Exchange exchangeMapperToModel() {
+    return exchangeMapper.toModel(dto);
+  }
+}
@@ -0,0 +1,83 @@
+package com.gpc.exchange.realtime;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.model.Exchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.Disposable;
+
+/**
+ * Time for one node to fan a batch out to every subscriber of every node joined to a loopback
+ * broadcast. Delivery is synchronous, so the average time is the fan-out latency and quotes per
+ * second are {@code batchSize} divided by it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteFanOutBenchmark {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 9, 10, 0);
+
+  @Param({"1", "4"})
+  private int nodes;
+
+  @Param({"1", "100"})
+  private int subscribersPerNode;
+
+  @Param({"1", "100"})
+  private int batchSize;
+
+  private final List<QuoteFanOut> fanOuts = new ArrayList<>();
+
+  private final List<Disposable> subscriptions = new ArrayList<>();
+
+  private final long[] delivered = new long[1];
+
+  private List<ExchangeDTO> batch;
+
+  @Setup
+  public void setUp() {
+    LoopbackQuoteBroadcast loopback = new LoopbackQuoteBroadcast();
+    for (int node = 0; node < nodes; node++) {
+      ExchangeRealtimePublisher publisher = new ExchangeRealtimePublisher(OverflowPolicy.BUFFER, 256, 1024);
+      fanOuts.add(new QuoteFanOut(loopback.join(), publisher, new SimpleMeterRegistry(), "node-" + node));
+      for (int i = 0; i < subscribersPerNode; i++) {
+        subscriptions.add(publisher.subscribe(Exchange.DEFAULT_PAIR, null, null).subscribe(event -> delivered[0]++));
+      }
+    }
+    batch = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      batch.add(new ExchangeDTO((long) i, 3.5 + i / 10_000.0, 3.7 + i / 10_000.0, NOW.plusSeconds(i)));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    subscriptions.forEach(Disposable::dispose);
+    fanOuts.forEach(QuoteFanOut::close);
+  }
+
+  @Benchmark
+  public long publish() {
+    fanOuts.get(0).publish(batch);
+    return delivered[0];
+  }
+}
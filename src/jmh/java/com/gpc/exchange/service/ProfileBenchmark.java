@@ -0,0 +1,140 @@
+package com.gpc.exchange.service;
+
+import com.gpc.exchange.aggregate.CandleStore;
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.aggregate.DailyAggregateStore;
+import com.gpc.exchange.aggregate.DailyQuantileStore;
+import com.gpc.exchange.aggregate.LatestExchangeStore;
+import com.gpc.exchange.aggregate.ExchangeAccumulator;
+import com.gpc.exchange.dto.ProfileExchangeDTO;
+import com.gpc.exchange.dto.ProfileFilterDTO;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.realtime.ExchangeRealtimePublisher;
+import com.gpc.exchange.realtime.InProcessQuoteBroadcast;
+import com.gpc.exchange.realtime.OverflowPolicy;
+import com.gpc.exchange.realtime.QuoteFanOut;
+import com.gpc.exchange.storage.ExchangeStorage;
+import com.gpc.exchange.util.DataInitializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileBenchmark {
+
+  private static final LocalDate DATE = LocalDate.of(2025, 5, 9);
+
+  @Param({"1000", "10000", "100000"})
+  private int daySize;
+
+  @Param({"LOW", "MEDIUM", "HIGH", "P99"})
+  private String profile;
+
+  private List<Exchange> exchanges;
+
+  private ExchangeServiceImpl service;
+
+  private ProfileCache profileCache;
+
+  private ProfileFilterDTO filter;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    exchanges = new ArrayList<>(daySize);
+    for (int i = 0; i < daySize; i++) {
+      double buy = 3.0 + random.nextInt(10_000) / 10_000.0;
+      exchanges.add(new Exchange((long) i, buy, buy + 0.2, DATE.atStartOfDay().plusSeconds(i % 86_400)));
+    }
+
+    ExchangeStorage storage = Mockito.mock(ExchangeStorage.class);
+    DailyAggregateStore aggregateStore = new DailyAggregateStore(storage);
+    exchanges.forEach(aggregateStore::add);
+    DailyQuantileStore quantileStore = new DailyQuantileStore(storage);
+    exchanges.forEach(quantileStore::add);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    profileCache = new ProfileCache(registry, 1_000);
+    ExchangeRealtimePublisher realtimePublisher = new ExchangeRealtimePublisher(OverflowPolicy.BUFFER, 256, 1024);
+    service = new ExchangeServiceImpl(storage, aggregateStore, quantileStore, new CandleStore(storage),
+        new LatestExchangeStore(storage), profileCache, new AggregateQueryCoalescer(registry),
+        realtimePublisher, new QuoteFanOut(new InProcessQuoteBroadcast(), realtimePublisher, registry, "benchmark"),
+        Mockito.mock(DataInitializer.class));
+    filter = new ProfileFilterDTO(profile, DATE, Exchange.DEFAULT_PAIR);
+  }
+
+  /**
+   * Closed days are cached, so each call would otherwise measure a cache hit.
+   */
+  @Setup(Level.Invocation)
+  public void invalidateProfile() {
+    profileCache.invalidate(Exchange.DEFAULT_PAIR, DATE);
+  }
+
+  @Benchmark
+  public ProfileExchangeDTO findProfileExchange() {
+    return service.findProfileExchange(filter).block();
+  }
+
+  @Benchmark
+  public ProfileExchangeDTO listProfileExchange() {
+    double buy;
+    double sell;
+    switch (profile) {
+      case "LOW" -> {
+        buy = exchanges.stream().mapToDouble(Exchange::getBuy).max().orElse(0);
+        sell = exchanges.stream().mapToDouble(Exchange::getSell).max().orElse(0);
+      }
+      case "MEDIUM" -> {
+        buy = exchanges.stream().mapToDouble(Exchange::getBuy).average().orElse(0);
+        sell = exchanges.stream().mapToDouble(Exchange::getSell).average().orElse(0);
+      }
+      case "P99" -> {
+        long rank = (long) Math.floor(0.99 * (exchanges.size() - 1));
+        buy = exchanges.stream().mapToDouble(Exchange::getBuy).sorted().skip(rank).findFirst().orElse(0);
+        sell = exchanges.stream().mapToDouble(Exchange::getSell).sorted().skip(rank).findFirst().orElse(0);
+      }
+      default -> {
+        buy = exchanges.stream().mapToDouble(Exchange::getBuy).min().orElse(0);
+        sell = exchanges.stream().mapToDouble(Exchange::getSell).min().orElse(0);
+      }
+    }
+    return new ProfileExchangeDTO(ExchangeServiceImpl.getValueRound(buy), ExchangeServiceImpl.getValueRound(sell));
+  }
+
+  @Benchmark
+  public DailyAggregate singlePassAllProfiles() {
+    ExchangeAccumulator accumulator = new ExchangeAccumulator();
+    for (Exchange exchange : exchanges) {
+      accumulator.accept(exchange);
+    }
+    return accumulator.toAggregate();
+  }
+
+  @Benchmark
+  public DailyAggregateStore rebuildDayIncrementally() {
+    DailyAggregateStore aggregateStore = new DailyAggregateStore(null);
+    exchanges.forEach(aggregateStore::add);
+    return aggregateStore;
+  }
+}
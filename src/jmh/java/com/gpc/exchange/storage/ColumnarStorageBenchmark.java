@@ -0,0 +1,83 @@
+package com.gpc.exchange.storage;
+
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.repository.ExchangeCursor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarStorageBenchmark {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2025, 5, 1);
+
+  private static final int DAYS = 10;
+
+  @Param({"1000000"})
+  private int rows;
+
+  private ColumnarExchangeStorage storage;
+
+  private LocalDateTime dayStart;
+
+  private LocalDateTime dayEnd;
+
+  private ExchangeCursor middleOfDay;
+
+  @Setup
+  public void setUp() {
+    storage = new ColumnarExchangeStorage();
+    Random random = new Random(42);
+    List<Exchange> batch = new ArrayList<>(10_000);
+    for (int i = 0; i < rows; i++) {
+      double buy = 3.0 + random.nextInt(10_000) / 10_000.0;
+      LocalDateTime dateTime = FIRST_DAY.plusDays(i % DAYS).atStartOfDay().plusSeconds(random.nextInt(86_400));
+      batch.add(new Exchange(null, buy, buy + 0.2, dateTime));
+      if (batch.size() == 10_000) {
+        storage.insertAll(batch).blockLast();
+        batch.clear();
+      }
+    }
+    storage.insertAll(batch).blockLast();
+
+    LocalDate day = FIRST_DAY.plusDays(DAYS / 2);
+    dayStart = day.atStartOfDay();
+    dayEnd = day.plusDays(1).atStartOfDay();
+    middleOfDay = new ExchangeCursor(day.atTime(12, 0), 0L);
+  }
+
+  @Benchmark
+  public DailyAggregate aggregateDay() {
+    return storage.aggregateByDateTimeRange(Exchange.DEFAULT_PAIR, dayStart, dayEnd).block();
+  }
+
+  @Benchmark
+  public List<Exchange> pageOf100() {
+    return storage.findPage(Exchange.DEFAULT_PAIR, middleOfDay, dayStart, dayEnd, 100).collectList().block();
+  }
+
+  @Benchmark
+  public Exchange appendQuote() {
+    return storage.save(new Exchange(null, 3.5, 3.7, dayEnd.minusNanos(1_000_000))).block();
+  }
+}
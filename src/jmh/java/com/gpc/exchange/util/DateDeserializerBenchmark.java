@@ -0,0 +1,87 @@
+package com.gpc.exchange.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateDeserializerBenchmark {
+
+  private static final DateTimeFormatter FORMATTER = new DateTimeFormatterBuilder()
+      .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
+      .optionalStart()
+      .appendPattern("[.SSS][.SS][.S]")
+      .optionalEnd()
+      .toFormatter();
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  private final CustomDateTimeDeserializer dateTimeDeserializer = new CustomDateTimeDeserializer();
+
+  private final CustomDateDeserializer dateDeserializer = new CustomDateDeserializer();
+
+  @Param({"\"2025-05-09T10:20:00\"", "\"2025-05-09T10:20:00.123\"", "\"2025-05-09 10:20\""})
+  private String dateTime;
+
+  private char[] chars;
+
+  @Setup
+  public void setUp() {
+    chars = dateTime.substring(1, dateTime.length() - 1).toCharArray();
+  }
+
+  @Benchmark
+  public LocalDateTime deserializeDateTime() {
+    try (JsonParser parser = jsonFactory.createParser(dateTime)) {
+      parser.nextToken();
+      return dateTimeDeserializer.deserialize(parser, null);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  @Benchmark
+  public LocalDate deserializeDate() throws IOException {
+    try (JsonParser parser = jsonFactory.createParser("\"2025-05-09\"")) {
+      parser.nextToken();
+      return dateDeserializer.deserialize(parser, null);
+    }
+  }
+
+  /** Baseline: the pattern formatter the deserializers used before the fixed-layout parser. */
+  @Benchmark
+  public LocalDateTime formatterParse() {
+    try {
+      return LocalDateTime.parse(new String(chars), FORMATTER);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  @Benchmark
+  public LocalDateTime fixedLayoutParse() {
+    return FixedLayoutDateParser.parseDateTime(chars, 0, chars.length);
+  }
+}
@@ -0,0 +1,32 @@
+package com.gpc.exchange.aggregate;
+
+import com.gpc.exchange.model.Exchange;
+import java.time.LocalDateTime;
+
+/**
+ * Buy/sell OHLC bucket. {@code openTime} and {@code closeTime} are the quote times behind the
+ * open and close values, so buckets merge correctly whatever order quotes arrive in.
+ */
+public record Candle(LocalDateTime start, long count,
+                     double buyOpen, double buyHigh, double buyLow, double buyClose,
+                     double sellOpen, double sellHigh, double sellLow, double sellClose,
+                     LocalDateTime openTime, LocalDateTime closeTime) {
+
+  public static Candle of(LocalDateTime start, Exchange exchange) {
+    double buy = exchange.getBuy();
+    double sell = exchange.getSell();
+    return new Candle(start, 1, buy, buy, buy, buy, sell, sell, sell, sell,
+        exchange.getDateTime(), exchange.getDateTime());
+  }
+
+  public Candle merge(Candle other) {
+    boolean otherOpens = other.openTime.isBefore(openTime);
+    boolean otherCloses = !other.closeTime.isBefore(closeTime);
+    return new Candle(start, count + other.count,
+        otherOpens ? other.buyOpen : buyOpen, Math.max(buyHigh, other.buyHigh), Math.min(buyLow, other.buyLow),
+        otherCloses ? other.buyClose : buyClose,
+        otherOpens ? other.sellOpen : sellOpen, Math.max(sellHigh, other.sellHigh), Math.min(sellLow, other.sellLow),
+        otherCloses ? other.sellClose : sellClose,
+        otherOpens ? other.openTime : openTime, otherCloses ? other.closeTime : closeTime);
+  }
+}
@@ -0,0 +1,38 @@
+package com.gpc.exchange.aggregate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public enum CandleInterval {
+
+  ONE_MINUTE("1m", 60),
+  FIVE_MINUTES("5m", 300),
+  ONE_HOUR("1h", 3_600);
+
+  private final String label;
+
+  private final long seconds;
+
+  CandleInterval(String label, long seconds) {
+    this.label = label;
+    this.seconds = seconds;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public LocalDateTime bucketStart(LocalDateTime dateTime) {
+    long epochSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+    return LocalDateTime.ofEpochSecond(epochSecond - Math.floorMod(epochSecond, seconds), 0, ZoneOffset.UTC);
+  }
+
+  public static CandleInterval fromLabel(String label) {
+    for (CandleInterval interval : values()) {
+      if (interval.label.equals(label)) {
+        return interval;
+      }
+    }
+    throw new IllegalArgumentException("Invalid candle interval");
+  }
+}
@@ -0,0 +1,80 @@
+package com.gpc.exchange.aggregate;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class CandleStore {
+
+  private final ExchangeStorage storage;
+
+  private final Map<String, Map<CandleInterval, NavigableMap<LocalDateTime, Candle>>> candles =
+      new ConcurrentHashMap<>();
+
+  public void add(Exchange exchange) {
+    candles.computeIfAbsent(exchange.getPair(), pair -> createBuckets())
+        .forEach((interval, buckets) -> merge(buckets, interval, exchange));
+  }
+
+  /**
+   * Candles of {@code pair} whose bucket starts in {@code [from, to)}, oldest first.
+   */
+  public Collection<Candle> find(String pair, CandleInterval interval, LocalDateTime from, LocalDateTime to) {
+    Map<CandleInterval, NavigableMap<LocalDateTime, Candle>> pairCandles = candles.get(pair);
+    if (pairCandles == null || !from.isBefore(to)) {
+      return List.of();
+    }
+    return pairCandles.get(interval).subMap(from, true, to, false).values();
+  }
+
+  public Mono<Void> rebuild() {
+    return Mono.defer(() -> RollupRebuild.replay(storage.findAll(), startRebuild()));
+  }
+
+  public RollupRebuild startRebuild() {
+    Map<String, Map<CandleInterval, NavigableMap<LocalDateTime, Candle>>> rebuilt = new HashMap<>();
+    return RollupRebuild.of(
+        exchange -> {
+          Map<CandleInterval, NavigableMap<LocalDateTime, Candle>> pairCandles =
+              rebuilt.computeIfAbsent(exchange.getPair(), pair -> new EnumMap<>(CandleInterval.class));
+          for (CandleInterval interval : CandleInterval.values()) {
+            merge(pairCandles.computeIfAbsent(interval, key -> new TreeMap<>()), interval, exchange);
+          }
+        },
+        () -> {
+          candles.keySet().retainAll(rebuilt.keySet());
+          rebuilt.forEach((pair, pairRebuilt) -> candles.computeIfAbsent(pair, key -> createBuckets())
+              .forEach((interval, buckets) -> {
+                buckets.clear();
+                buckets.putAll(pairRebuilt.getOrDefault(interval, new TreeMap<>()));
+              }));
+        });
+  }
+
+  private static void merge(Map<LocalDateTime, Candle> buckets, CandleInterval interval, Exchange exchange) {
+    LocalDateTime start = interval.bucketStart(exchange.getDateTime());
+    buckets.merge(start, Candle.of(start, exchange), Candle::merge);
+  }
+
+  private static Map<CandleInterval, NavigableMap<LocalDateTime, Candle>> createBuckets() {
+    Map<CandleInterval, NavigableMap<LocalDateTime, Candle>> buckets = new EnumMap<>(CandleInterval.class);
+    for (CandleInterval interval : CandleInterval.values()) {
+      buckets.put(interval, new ConcurrentSkipListMap<>());
+    }
+    return buckets;
+  }
+}
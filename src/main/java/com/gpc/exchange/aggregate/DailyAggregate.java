@@ -0,0 +1,32 @@
+package com.gpc.exchange.aggregate;
+
+public record DailyAggregate(long count,
+                             double buySum, double buyMin, double buyMax,
+                             double sellSum, double sellMin, double sellMax) {
+
+  public static final DailyAggregate EMPTY = new DailyAggregate(0, 0, 0, 0, 0, 0, 0);
+
+  public static DailyAggregate of(double buy, double sell) {
+    return new DailyAggregate(1, buy, buy, buy, sell, sell, sell);
+  }
+
+  public DailyAggregate merge(DailyAggregate other) {
+    if (other.count == 0) {
+      return this;
+    }
+    if (count == 0) {
+      return other;
+    }
+    return new DailyAggregate(count + other.count,
+        buySum + other.buySum, Math.min(buyMin, other.buyMin), Math.max(buyMax, other.buyMax),
+        sellSum + other.sellSum, Math.min(sellMin, other.sellMin), Math.max(sellMax, other.sellMax));
+  }
+
+  public double buyAverage() {
+    return count == 0 ? 0 : buySum / count;
+  }
+
+  public double sellAverage() {
+    return count == 0 ? 0 : sellSum / count;
+  }
+}
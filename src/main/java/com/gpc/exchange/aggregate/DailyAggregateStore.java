@@ -0,0 +1,51 @@
+package com.gpc.exchange.aggregate;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class DailyAggregateStore {
+
+  private final ExchangeStorage storage;
+
+  private final Map<PairDate, DailyAggregate> aggregates = new ConcurrentHashMap<>();
+
+  public void add(Exchange exchange) {
+    aggregates.merge(PairDate.of(exchange), DailyAggregate.of(exchange.getBuy(), exchange.getSell()),
+        DailyAggregate::merge);
+  }
+
+  public Optional<DailyAggregate> find(String pair, LocalDate date) {
+    return Optional.ofNullable(aggregates.get(new PairDate(pair, date)));
+  }
+
+  public Mono<Void> rebuild() {
+    return Mono.defer(() -> RollupRebuild.replay(storage.findAll(), startRebuild()));
+  }
+
+  public RollupRebuild startRebuild() {
+    Map<PairDate, ExchangeAccumulator> rebuilt = new HashMap<>();
+    return RollupRebuild.of(
+        exchange -> rebuilt.computeIfAbsent(PairDate.of(exchange), key -> new ExchangeAccumulator()).accept(exchange),
+        () -> {
+          aggregates.clear();
+          rebuilt.forEach((key, accumulator) -> aggregates.put(key, accumulator.toAggregate()));
+        });
+  }
+
+  private record PairDate(String pair, LocalDate date) {
+
+    static PairDate of(Exchange exchange) {
+      return new PairDate(exchange.getPair(), exchange.getDateTime().toLocalDate());
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.gpc.exchange.aggregate;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-day buy and sell quantile sketches by pair, updated with every saved quote.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyQuantileStore {
+
+  private final ExchangeStorage storage;
+
+  private final Map<PairDate, DailyQuantiles> quantiles = new ConcurrentHashMap<>();
+
+  public void add(Exchange exchange) {
+    quantiles.computeIfAbsent(PairDate.of(exchange), key -> new DailyQuantiles()).add(exchange);
+  }
+
+  public Optional<DailyQuantiles> find(String pair, LocalDate date) {
+    return Optional.ofNullable(quantiles.get(new PairDate(pair, date)));
+  }
+
+  public Mono<Void> rebuild() {
+    return Mono.defer(() -> RollupRebuild.replay(storage.findAll(), startRebuild()));
+  }
+
+  public RollupRebuild startRebuild() {
+    Map<PairDate, DailyQuantiles> rebuilt = new HashMap<>();
+    return RollupRebuild.of(
+        exchange -> rebuilt.computeIfAbsent(PairDate.of(exchange), key -> new DailyQuantiles()).add(exchange),
+        () -> {
+          quantiles.keySet().retainAll(rebuilt.keySet());
+          quantiles.putAll(rebuilt);
+        });
+  }
+
+  private record PairDate(String pair, LocalDate date) {
+
+    static PairDate of(Exchange exchange) {
+      return new PairDate(exchange.getPair(), exchange.getDateTime().toLocalDate());
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.gpc.exchange.aggregate;
+
+import com.gpc.exchange.model.Exchange;
+
+/**
+ * Buy and sell {@link QuantileSketch sketches} of one pair and day. Days (or nodes) can be combined
+ * with {@link #merge}.
+ */
+public class DailyQuantiles {
+
+  private final QuantileSketch buy = new QuantileSketch();
+
+  private final QuantileSketch sell = new QuantileSketch();
+
+  public synchronized void add(Exchange exchange) {
+    buy.add(exchange.getBuy());
+    sell.add(exchange.getSell());
+  }
+
+  /**
+   * Adds a snapshot of {@code other}, taken under its own lock. The two locks are never held
+   * together, so merges running in opposite directions cannot deadlock.
+   */
+  public DailyQuantiles merge(DailyQuantiles other) {
+    QuantileSketch otherBuy;
+    QuantileSketch otherSell;
+    synchronized (other) {
+      otherBuy = other.buy.copy();
+      otherSell = other.sell.copy();
+    }
+    synchronized (this) {
+      buy.merge(otherBuy);
+      sell.merge(otherSell);
+    }
+    return this;
+  }
+
+  public synchronized long count() {
+    return buy.count();
+  }
+
+  public synchronized double buy(double quantile) {
+    return buy.quantile(quantile);
+  }
+
+  public synchronized double sell(double quantile) {
+    return sell.quantile(quantile);
+  }
+}
@@ -0,0 +1,58 @@
+package com.gpc.exchange.aggregate;
+
+import com.gpc.exchange.model.Exchange;
+import java.util.stream.Collector;
+
+public class ExchangeAccumulator {
+
+  private long count;
+
+  private double buySum;
+
+  private double buyMin = Double.POSITIVE_INFINITY;
+
+  private double buyMax = Double.NEGATIVE_INFINITY;
+
+  private double sellSum;
+
+  private double sellMin = Double.POSITIVE_INFINITY;
+
+  private double sellMax = Double.NEGATIVE_INFINITY;
+
+  public static Collector<Exchange, ExchangeAccumulator, DailyAggregate> summarizing() {
+    return Collector.of(ExchangeAccumulator::new, ExchangeAccumulator::accept, ExchangeAccumulator::combine,
+        ExchangeAccumulator::toAggregate);
+  }
+
+  public void accept(Exchange exchange) {
+    accept(exchange.getBuy(), exchange.getSell());
+  }
+
+  public void accept(double buy, double sell) {
+    count++;
+    buySum += buy;
+    buyMin = Math.min(buyMin, buy);
+    buyMax = Math.max(buyMax, buy);
+    sellSum += sell;
+    sellMin = Math.min(sellMin, sell);
+    sellMax = Math.max(sellMax, sell);
+  }
+
+  public ExchangeAccumulator combine(ExchangeAccumulator other) {
+    count += other.count;
+    buySum += other.buySum;
+    buyMin = Math.min(buyMin, other.buyMin);
+    buyMax = Math.max(buyMax, other.buyMax);
+    sellSum += other.sellSum;
+    sellMin = Math.min(sellMin, other.sellMin);
+    sellMax = Math.max(sellMax, other.sellMax);
+    return this;
+  }
+
+  public DailyAggregate toAggregate() {
+    if (count == 0) {
+      return DailyAggregate.EMPTY;
+    }
+    return new DailyAggregate(count, buySum, buyMin, buyMax, sellSum, sellMin, sellMax);
+  }
+}
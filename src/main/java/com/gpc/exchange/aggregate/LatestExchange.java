@@ -0,0 +1,27 @@
+package com.gpc.exchange.aggregate;
+
+import com.gpc.exchange.model.Exchange;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the most recent quote, with the entity tag computed once when it is taken
+ * so conditional requests only compare strings.
+ */
+public record LatestExchange(Exchange exchange, String eTag) {
+
+  public static LatestExchange of(Exchange exchange) {
+    Exchange copy = new Exchange(exchange.getId(), exchange.getPair(), exchange.getBuy(), exchange.getSell(),
+        exchange.getDateTime());
+    String eTag = "\"" + copy.getId() + "-"
+        + Integer.toHexString(Objects.hash(copy.getBuy(), copy.getSell(), copy.getDateTime())) + "\"";
+    return new LatestExchange(copy, eTag);
+  }
+
+  /**
+   * Whether this quote is newer than {@code other}, by date and then by id.
+   */
+  public boolean isAfter(LatestExchange other) {
+    int byDate = exchange.getDateTime().compareTo(other.exchange.getDateTime());
+    return byDate != 0 ? byDate > 0 : exchange.getId() > other.exchange.getId();
+  }
+}
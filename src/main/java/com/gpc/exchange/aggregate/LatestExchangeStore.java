@@ -0,0 +1,50 @@
+package com.gpc.exchange.aggregate;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class LatestExchangeStore {
+
+  private final ExchangeStorage storage;
+
+  private final Map<String, LatestExchange> latest = new ConcurrentHashMap<>();
+
+  /**
+   * Swaps the snapshot of the quote's pair when {@code exchange} is newer than the current one;
+   * back-dated quotes leave it untouched.
+   */
+  public void add(Exchange exchange) {
+    latest.merge(exchange.getPair(), LatestExchange.of(exchange), LatestExchangeStore::newest);
+  }
+
+  public Optional<LatestExchange> find(String pair) {
+    return Optional.ofNullable(latest.get(pair));
+  }
+
+  public Mono<Void> rebuild() {
+    return Mono.defer(() -> RollupRebuild.replay(storage.findAll(), startRebuild()));
+  }
+
+  public RollupRebuild startRebuild() {
+    Map<String, LatestExchange> rebuilt = new HashMap<>();
+    return RollupRebuild.of(
+        exchange -> rebuilt.merge(exchange.getPair(), LatestExchange.of(exchange), LatestExchangeStore::newest),
+        () -> {
+          latest.keySet().retainAll(rebuilt.keySet());
+          latest.putAll(rebuilt);
+        });
+  }
+
+  private static LatestExchange newest(LatestExchange current, LatestExchange next) {
+    return next.isAfter(current) ? next : current;
+  }
+}
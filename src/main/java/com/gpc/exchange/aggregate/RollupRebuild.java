@@ -0,0 +1,50 @@
+package com.gpc.exchange.aggregate;
+
+import com.gpc.exchange.model.Exchange;
+import java.util.function.Consumer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A store's rollup being rebuilt aside from the live one: it is fed the stored quotes one at a
+ * time and swapped in at the end, so several stores can share a single pass over storage.
+ */
+public interface RollupRebuild extends Consumer<Exchange> {
+
+  /**
+   * Replaces the live rollup with the rebuilt one.
+   */
+  void apply();
+
+  static RollupRebuild of(Consumer<Exchange> accumulate, Runnable apply) {
+    return new RollupRebuild() {
+      @Override
+      public void accept(Exchange exchange) {
+        accumulate.accept(exchange);
+      }
+
+      @Override
+      public void apply() {
+        apply.run();
+      }
+    };
+  }
+
+  /**
+   * Feeds every quote of {@code exchanges} to each rebuild and applies them all once the quotes
+   * run out; nothing is applied if reading fails.
+   */
+  static Mono<Void> replay(Flux<Exchange> exchanges, RollupRebuild... rebuilds) {
+    return exchanges
+        .doOnNext(exchange -> {
+          for (RollupRebuild rebuild : rebuilds) {
+            rebuild.accept(exchange);
+          }
+        })
+        .then(Mono.fromRunnable(() -> {
+          for (RollupRebuild rebuild : rebuilds) {
+            rebuild.apply();
+          }
+        }));
+  }
+}
@@ -0,0 +1,18 @@
+package com.gpc.exchange.config;
+
+import org.springframework.boot.autoconfigure.rsocket.RSocketMessageHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+
+@Configuration
+public class RSocketConfig {
+
+  /**
+   * Validates {@code @Valid} RSocket payloads with the same constraints as the HTTP endpoints.
+   */
+  @Bean
+  public RSocketMessageHandlerCustomizer rSocketValidatorCustomizer(Validator validator) {
+    return handler -> handler.setValidator(validator);
+  }
+}
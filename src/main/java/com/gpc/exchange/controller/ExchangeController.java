@@ -1,46 +1,118 @@
 package com.gpc.exchange.controller;
 
+import com.gpc.exchange.dto.CandleDTO;
+import com.gpc.exchange.dto.CandleFilterDTO;
+import com.gpc.exchange.dto.DateFilterDTO;
 import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.dto.ExchangePageFilterDTO;
 import com.gpc.exchange.dto.ProfileExchangeDTO;
 import com.gpc.exchange.dto.ProfileFilterDTO;
+import com.gpc.exchange.dto.ProfilesExchangeDTO;
+import com.gpc.exchange.dto.RealtimeFilterDTO;
+import com.gpc.exchange.dto.SubscriberStatsDTO;
+import com.gpc.exchange.mapper.ExchangeMapper;
 import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.repository.ExchangeCursor;
 import com.gpc.exchange.service.ExchangeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.net.URI;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.StringJoiner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/exchange")
-@RequiredArgsConstructor
 @Tag(name = "Exchange API", description = "Documentación de la API de Divisas")
 public class ExchangeController {
 
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private static final int DEFAULT_PAGE_SIZE = 100;
+
   private final ExchangeService service;
 
-  private final ModelMapper modelMapper;
+  private final ExchangeMapper exchangeMapper;
+
+  private final Duration closedDayMaxAge;
+
+  private final int maxBatchSize;
+
+  public ExchangeController(ExchangeService service, ExchangeMapper exchangeMapper,
+                            @Value("${exchange.profile-cache.closed-day-max-age:1h}") Duration closedDayMaxAge,
+                            @Value("${exchange.batch.max-size:1000}") int maxBatchSize) {
+    this.service = service;
+    this.exchangeMapper = exchangeMapper;
+    this.closedDayMaxAge = closedDayMaxAge;
+    this.maxBatchSize = maxBatchSize;
+  }
 
   @GetMapping
-  @Operation(summary = "Listar Posturas Divisas", description = "Devuelve todos los registros de posturas de compra y venta de divisas")
-  public Mono<ResponseEntity<Flux<ExchangeDTO>>> findAll() {
-    Flux<ExchangeDTO> fx = service.findAll().map(this::convertToDto);
+  @Operation(summary = "Listar Posturas Divisas", description = "Devuelve las posturas de compra y venta de divisas, de todos los pares o del par indicado, ordenadas por fecha y id. Sin limit ni cursor devuelve todas; con alguno de ellos devuelve una página (limit 100 por defecto) y el encabezado X-Next-Cursor trae el cursor de la página siguiente")
+  public Mono<ResponseEntity<Flux<ExchangeDTO>>> findAll(@Valid @ModelAttribute ExchangePageFilterDTO dto) {
+    if (dto.getLimit() == null && dto.getCursor() == null) {
+      return Mono.just(ResponseEntity.ok()
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(service.findPage(dto.getPair(), null, dto.getFrom(), dto.getTo(), null).map(this::convertToDto)));
+    }
+    int pageSize = dto.getLimit() != null ? dto.getLimit() : DEFAULT_PAGE_SIZE;
+    return service.findPage(dto.getPair(), decodeCursor(dto.getCursor()), dto.getFrom(), dto.getTo(), pageSize + 1)
+        .collectList()
+        .map(rows -> {
+          ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+          List<Exchange> page = rows;
+          if (rows.size() > pageSize) {
+            page = rows.subList(0, pageSize);
+            builder.header(NEXT_CURSOR_HEADER, ExchangeCursor.of(page.get(pageSize - 1)).encode());
+          }
+          return builder.body(Flux.fromIterable(page).map(this::convertToDto));
+        });
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Listar Posturas Divisas en Flujo", description = "Devuelve en NDJSON las posturas de compra y venta de divisas ordenadas por fecha y id, a medida que se leen de la base de datos")
+  public Mono<ResponseEntity<Flux<ExchangeDTO>>> streamAll(@Valid @ModelAttribute ExchangePageFilterDTO dto) {
+    Flux<ExchangeDTO> fx = service.findPage(dto.getPair(), decodeCursor(dto.getCursor()), dto.getFrom(), dto.getTo(),
+            dto.getLimit())
+        .map(this::convertToDto);
     return Mono.just(ResponseEntity.ok()
-        .contentType(MediaType.APPLICATION_JSON)
+        .contentType(MediaType.APPLICATION_NDJSON)
         .body(fx)
-    ).defaultIfEmpty(ResponseEntity.notFound().build());
+    );
+  }
+
+  @GetMapping("/latest")
+  @Operation(summary = "Última Postura Divisas", description = "Devuelve la postura de compra y venta de divisas más reciente del par (USDPEN por defecto) con su ETag; con If-None-Match responde 304 si no ha cambiado")
+  public Mono<ResponseEntity<ExchangeDTO>> findLatest(@RequestParam(defaultValue = Exchange.DEFAULT_PAIR) String pair) {
+    return service.findLatest(pair)
+        .map(latest -> ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(latest.eTag())
+            .cacheControl(CacheControl.noCache())
+            .body(this.convertToDto(latest.exchange()))
+        )
+        .defaultIfEmpty(ResponseEntity.notFound().build());
   }
 
   @PostMapping
@@ -54,28 +126,122 @@ public class ExchangeController {
         ).defaultIfEmpty(ResponseEntity.notFound().build());
   }
 
+  @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Crear Posturas Divisas en Lote", description = "Registro de un arreglo JSON de posturas de compra y venta de divisas, validado completo antes de insertar. Rechaza con 413 los lotes de más de exchange.batch.max-size posturas (1000 por defecto); las cargas mayores van por NDJSON")
+  public Mono<ResponseEntity<Flux<ExchangeDTO>>> createBatch(@Valid @RequestBody Flux<ExchangeDTO> dtos) {
+    return dtos.map(this::convertToModel)
+        .take(maxBatchSize + 1L)
+        .collectList()
+        .filter(models -> models.size() <= maxBatchSize)
+        .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+            "El lote no puede tener más de " + maxBatchSize + " posturas; use NDJSON para cargas mayores")))
+        .map(models -> ResponseEntity.status(HttpStatus.CREATED)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(service.saveAll(Flux.fromIterable(models)).map(this::convertToDto))
+        );
+  }
+
+  @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Crear Posturas Divisas en Flujo", description = "Registro de un flujo NDJSON de posturas de compra y venta de divisas, validadas e insertadas a medida que llegan")
+  public Mono<ResponseEntity<Flux<ExchangeDTO>>> createStream(@Valid @RequestBody Flux<ExchangeDTO> dtos) {
+    Flux<ExchangeDTO> fx = service.saveAll(dtos.map(this::convertToModel)).map(this::convertToDto);
+    return Mono.just(ResponseEntity.status(HttpStatus.CREATED)
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(fx)
+    );
+  }
+
   @GetMapping(value = "/realtime", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-  @Operation(summary = "Postura Divisas - Tiempo Real", description = "Devuelve las posturas de compra y venta de divisas en tiempo real")
-  public Flux<ExchangeDTO> streamExchange() {
-    return service.streamExchange();
+  @Operation(summary = "Postura Divisas - Tiempo Real", description = "Devuelve las posturas de compra y venta de divisas del par (USDPEN por defecto) en tiempo real, reenviando las perdidas desde el Last-Event-ID al reconectar. Con sample envía como máximo la última postura de cada intervalo; con minChange o minSpreadChange solo las que movieron la compra, la venta o el spread al menos ese valor desde la última enviada")
+  public Flux<ServerSentEvent<ExchangeDTO>> streamExchange(@Valid @ModelAttribute RealtimeFilterDTO dto,
+                                                           @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+    return service.streamExchangeEvents(dto, lastEventId)
+        .map(event -> ServerSentEvent.builder(event.exchange())
+            .id(String.valueOf(event.id()))
+            .build()
+        );
+  }
+
+  @GetMapping("/realtime/subscribers")
+  @Operation(summary = "Postura Divisas - Suscriptores Tiempo Real", description = "Devuelve los suscriptores en tiempo real con sus eventos entregados, descartados y combinados")
+  public Mono<ResponseEntity<Flux<SubscriberStatsDTO>>> findRealtimeSubscribers() {
+    return Mono.just(ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(service.findRealtimeSubscribers())
+    );
   }
 
   @GetMapping("/profile/search")
-  @Operation(summary = "Postura Divisas - Perfil", description = "Devuelve una postura de compra y venta de divisas por perfil")
+  @Operation(summary = "Postura Divisas - Perfil", description = "Devuelve una postura de compra y venta de divisas por perfil: LOW (máximo), MEDIUM (promedio), HIGH (mínimo) o la mediana y los percentiles 90 y 99 del día (MEDIAN, P90, P99), con un error relativo de hasta 0,01 %")
   public Mono<ResponseEntity<ProfileExchangeDTO>> findProfileExchange(@Valid @ModelAttribute ProfileFilterDTO dto) {
     return service.findProfileExchange(dto)
         .map(exchange -> ResponseEntity.ok()
             .contentType(MediaType.APPLICATION_JSON)
+            .eTag(eTag(dto.getPair(), dto.getDate(), exchange))
+            .cacheControl(profileCacheControl(dto.getDate()))
             .body(exchange)
         )
         .defaultIfEmpty(ResponseEntity.notFound().build());
   }
 
+  @GetMapping("/profile/all")
+  @Operation(summary = "Postura Divisas - Todos los Perfiles", description = "Devuelve las posturas de compra y venta de divisas de los perfiles LOW, MEDIUM y HIGH en una sola respuesta")
+  public Mono<ResponseEntity<ProfilesExchangeDTO>> findProfilesExchange(@Valid @ModelAttribute DateFilterDTO dto) {
+    return service.findProfilesExchange(dto)
+        .map(profiles -> ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(eTag(dto.getPair(), dto.getDate(), profiles.getLow(), profiles.getMedium(), profiles.getHigh()))
+            .cacheControl(profileCacheControl(dto.getDate()))
+            .body(profiles)
+        )
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @GetMapping("/candles")
+  @Operation(summary = "Postura Divisas - Velas OHLC", description = "Devuelve las velas de apertura, máximo, mínimo y cierre de compra y venta por intervalo (1m, 5m, 1h) en un rango de fechas")
+  public Mono<ResponseEntity<Flux<CandleDTO>>> findCandles(@Valid @ModelAttribute CandleFilterDTO dto) {
+    return Mono.just(ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(service.findCandles(dto))
+    );
+  }
+
+  /**
+   * Profiles of a day that has closed only change if a quote is back-dated into it, so clients may
+   * reuse them for {@code closed-day-max-age}; today's profiles must be revalidated with the ETag.
+   */
+  private CacheControl profileCacheControl(LocalDate date) {
+    return date.isBefore(LocalDate.now()) ? CacheControl.maxAge(closedDayMaxAge) : CacheControl.noCache();
+  }
+
+  /**
+   * The pair, the date and the rounded prices themselves, so two different bodies never share a
+   * tag, which a hash could not promise for an hour-long max-age.
+   */
+  private static String eTag(String pair, LocalDate date, ProfileExchangeDTO... profiles) {
+    StringJoiner eTag = new StringJoiner(":", "\"", "\"").add(pair).add(date.toString());
+    for (ProfileExchangeDTO profile : profiles) {
+      eTag.add(String.valueOf(profile.getBuy())).add(String.valueOf(profile.getSell()));
+    }
+    return eTag.toString();
+  }
+
+  private ExchangeCursor decodeCursor(String cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    try {
+      return ExchangeCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new ServerWebInputException(e.getMessage());
+    }
+  }
+
   private ExchangeDTO convertToDto(Exchange model) {
-    return modelMapper.map(model, ExchangeDTO.class);
+    return exchangeMapper.toDto(model);
   }
 
   private Exchange convertToModel(ExchangeDTO dto) {
-    return modelMapper.map(dto, Exchange.class);
+    return exchangeMapper.toModel(dto);
   }
 }
@@ -0,0 +1,64 @@
+package com.gpc.exchange.controller;
+
+import com.gpc.exchange.dto.DateFilterDTO;
+import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.dto.PairPattern;
+import com.gpc.exchange.dto.ProfileExchangeDTO;
+import com.gpc.exchange.dto.ProfileFilterDTO;
+import com.gpc.exchange.dto.ProfilesExchangeDTO;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.service.ExchangeService;
+import jakarta.validation.Valid;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.handler.annotation.support.MethodArgumentNotValidException;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * RSocket routes for internal consumers that keep a connection open. Unlike the SSE stream, the
+ * realtime route only emits what the client has requested; the subscriber's overflow policy
+ * decides what happens to quotes published while it has no outstanding demand.
+ */
+@Controller
+@RequiredArgsConstructor
+public class ExchangeRSocketController {
+
+  private final ExchangeService service;
+
+  @MessageMapping("exchange.realtime")
+  public Flux<ExchangeDTO> streamExchange() {
+    return service.streamExchange(Exchange.DEFAULT_PAIR);
+  }
+
+  @MessageMapping("exchange.realtime.{pair}")
+  public Flux<ExchangeDTO> streamExchange(@DestinationVariable String pair) {
+    if (!PairPattern.matches(pair)) {
+      return Flux.error(new IllegalArgumentException(PairPattern.MESSAGE));
+    }
+    return service.streamExchange(pair);
+  }
+
+  @MessageMapping("exchange.profile")
+  public Mono<ProfileExchangeDTO> findProfileExchange(@Valid @Payload ProfileFilterDTO dto) {
+    return service.findProfileExchange(dto);
+  }
+
+  @MessageMapping("exchange.profiles")
+  public Mono<ProfilesExchangeDTO> findProfilesExchange(@Valid @Payload DateFilterDTO dto) {
+    return service.findProfilesExchange(dto);
+  }
+
+  @MessageExceptionHandler(MethodArgumentNotValidException.class)
+  public Mono<Void> handleInvalidPayload(MethodArgumentNotValidException e) {
+    String message = e.getBindingResult() == null ? e.getMessage() : e.getBindingResult().getFieldErrors().stream()
+        .map(fieldError -> fieldError.getDefaultMessage())
+        .collect(Collectors.joining(", "));
+    return Mono.error(new IllegalArgumentException(message));
+  }
+}
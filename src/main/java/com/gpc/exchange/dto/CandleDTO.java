@@ -0,0 +1,20 @@
+package com.gpc.exchange.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CandleDTO {
+
+  private LocalDateTime start;
+
+  private long count;
+
+  private OhlcDTO buy;
+
+  private OhlcDTO sell;
+}
@@ -0,0 +1,32 @@
+package com.gpc.exchange.dto;
+
+import com.gpc.exchange.model.Exchange;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CandleFilterDTO {
+
+  @NotNull(message = "El campo interval no puede ser nulo")
+  @Pattern(regexp = "1m|5m|1h", message = "El campo interval debe ser '1m' o '5m' o '1h'")
+  private String interval;
+
+  @NotNull(message = "El campo from no puede ser nulo")
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime from;
+
+  @NotNull(message = "El campo to no puede ser nulo")
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime to;
+
+  @NotNull(message = "El campo pair no puede ser nulo")
+  @Pattern(regexp = PairPattern.REGEXP, message = PairPattern.MESSAGE)
+  private String pair = Exchange.DEFAULT_PAIR;
+}
@@ -0,0 +1,25 @@
+package com.gpc.exchange.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.util.CustomDateDeserializer;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DateFilterDTO {
+
+  @NotNull(message = "El campo date no puede ser nulo")
+  @JsonDeserialize(using = CustomDateDeserializer.class)
+  private LocalDate date;
+
+  @NotNull(message = "El campo pair no puede ser nulo")
+  @Pattern(regexp = PairPattern.REGEXP, message = PairPattern.MESSAGE)
+  private String pair = Exchange.DEFAULT_PAIR;
+}
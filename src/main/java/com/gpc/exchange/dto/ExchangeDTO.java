@@ -1,8 +1,10 @@
 package com.gpc.exchange.dto;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.gpc.exchange.model.Exchange;
 import com.gpc.exchange.util.CustomDateTimeDeserializer;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,6 +17,10 @@ public class ExchangeDTO {
 
   private Long id;
 
+  @NotNull(message = "El campo pair no puede ser nulo")
+  @Pattern(regexp = PairPattern.REGEXP, message = PairPattern.MESSAGE)
+  private String pair = Exchange.DEFAULT_PAIR;
+
   @NotNull(message = "El campo buy no puede ser nulo")
   private Double buy;
 
@@ -24,4 +30,11 @@ public class ExchangeDTO {
   @NotNull(message = "El campo date time no puede ser nulo")
   @JsonDeserialize(using = CustomDateTimeDeserializer.class)
   private LocalDateTime dateTime;
+
+  /**
+   * Quote of the {@link Exchange#DEFAULT_PAIR}.
+   */
+  public ExchangeDTO(Long id, Double buy, Double sell, LocalDateTime dateTime) {
+    this(id, Exchange.DEFAULT_PAIR, buy, sell, dateTime);
+  }
 }
@@ -0,0 +1,32 @@
+package com.gpc.exchange.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExchangePageFilterDTO {
+
+  @Pattern(regexp = "[A-Za-z0-9_-]+", message = "El campo cursor es inválido")
+  private String cursor;
+
+  @Min(value = 1, message = "El campo limit debe ser mayor o igual a 1")
+  @Max(value = 1000, message = "El campo limit debe ser menor o igual a 1000")
+  private Integer limit;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime from;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime to;
+
+  @Pattern(regexp = PairPattern.REGEXP, message = PairPattern.MESSAGE)
+  private String pair;
+}
@@ -0,0 +1,19 @@
+package com.gpc.exchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OhlcDTO {
+
+  private Double open;
+
+  private Double high;
+
+  private Double low;
+
+  private Double close;
+}
@@ -0,0 +1,26 @@
+package com.gpc.exchange.dto;
+
+import java.util.regex.Pattern;
+
+/**
+ * Validation shared by every request field that names a currency pair: the two ISO 4217 codes
+ * written together, such as {@code USDPEN}.
+ */
+public final class PairPattern {
+
+  static final String REGEXP = "[A-Z]{6}";
+
+  public static final String MESSAGE = "El campo pair debe ser un par de divisas de seis letras mayúsculas, por ejemplo 'USDPEN'";
+
+  private static final Pattern PATTERN = Pattern.compile(REGEXP);
+
+  private PairPattern() {
+  }
+
+  /**
+   * For pairs that arrive outside a validated DTO, such as an RSocket route variable.
+   */
+  public static boolean matches(String pair) {
+    return pair != null && PATTERN.matcher(pair).matches();
+  }
+}
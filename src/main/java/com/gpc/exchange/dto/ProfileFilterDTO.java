@@ -1,6 +1,7 @@
 package com.gpc.exchange.dto;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.gpc.exchange.model.Exchange;
 import com.gpc.exchange.util.CustomDateDeserializer;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -15,10 +16,15 @@ import lombok.NoArgsConstructor;
 public class ProfileFilterDTO {
 
   @NotNull(message = "El campo profile no puede ser nulo")
-  @Pattern(regexp = "LOW|MEDIUM|HIGH", message = "El campo profile debe ser 'LOW' o 'MEDIUM' o 'HIGH'")
+  @Pattern(regexp = "LOW|MEDIUM|HIGH|MEDIAN|P90|P99",
+      message = "El campo profile debe ser 'LOW' o 'MEDIUM' o 'HIGH' o 'MEDIAN' o 'P90' o 'P99'")
   private String profile;
 
   @NotNull(message = "El campo date no puede ser nulo")
   @JsonDeserialize(using = CustomDateDeserializer.class)
   private LocalDate date;
+
+  @NotNull(message = "El campo pair no puede ser nulo")
+  @Pattern(regexp = PairPattern.REGEXP, message = PairPattern.MESSAGE)
+  private String pair = Exchange.DEFAULT_PAIR;
 }
@@ -0,0 +1,17 @@
+package com.gpc.exchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProfilesExchangeDTO {
+
+  private ProfileExchangeDTO low;
+
+  private ProfileExchangeDTO medium;
+
+  private ProfileExchangeDTO high;
+}
@@ -0,0 +1,35 @@
+package com.gpc.exchange.dto;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.realtime.OverflowPolicy;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.format.annotation.DurationFormat;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RealtimeFilterDTO {
+
+  @NotNull(message = "El campo pair no puede ser nulo")
+  @Pattern(regexp = PairPattern.REGEXP, message = PairPattern.MESSAGE)
+  private String pair = Exchange.DEFAULT_PAIR;
+
+  private OverflowPolicy overflow;
+
+  @DurationMin(millis = 1, message = "El campo sample debe ser mayor que cero")
+  @DurationFormat(style = DurationFormat.Style.SIMPLE)
+  private Duration sample;
+
+  @PositiveOrZero(message = "El campo minChange debe ser mayor o igual a cero")
+  private Double minChange;
+
+  @PositiveOrZero(message = "El campo minSpreadChange debe ser mayor o igual a cero")
+  private Double minSpreadChange;
+}
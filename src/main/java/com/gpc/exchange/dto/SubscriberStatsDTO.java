@@ -0,0 +1,25 @@
+package com.gpc.exchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubscriberStatsDTO {
+
+  private Long id;
+
+  private String pair;
+
+  private String policy;
+
+  private Long delivered;
+
+  private Long dropped;
+
+  private Long conflated;
+
+  private Long filtered;
+}
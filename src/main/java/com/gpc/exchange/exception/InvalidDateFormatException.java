@@ -4,7 +4,27 @@ import java.io.IOException;
 
 public class InvalidDateFormatException extends IOException {
 
-    public InvalidDateFormatException(String message) {
-        super(message);
+  public InvalidDateFormatException(String message) {
+    super(message);
+  }
+
+  /**
+   * Builds an instance without a stack trace, cheap enough to create for every rejected value; a
+   * fresh one each time keeps suppressed exceptions added by one request out of another's.
+   */
+  public static InvalidDateFormatException stackless(String message) {
+    return new Stackless(message);
+  }
+
+  private static final class Stackless extends InvalidDateFormatException {
+
+    private Stackless(String message) {
+      super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
     }
+  }
 }
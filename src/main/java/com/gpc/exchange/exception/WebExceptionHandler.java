@@ -55,42 +55,28 @@ public class WebExceptionHandler extends AbstractErrorWebExceptionHandler {
       customError.put("status", 400);
       httpStatus = HttpStatus.BAD_REQUEST;
     } else {
-      switch (statusCode)
-      {
-        case 400, 422 ->
-        {
-          customError.put("message", error.getMessage());
-          customError.put("status", 400);
-          httpStatus = HttpStatus.BAD_REQUEST;
-        }
-        case 404 ->
-        {
-          customError.put("message", error.getMessage());
-          customError.put("status", 404);
-          httpStatus = HttpStatus.NOT_FOUND;
-        }
-        case 401, 403 ->
-        {
-          customError.put("message", error.getMessage());
-          customError.put("status", 401);
-          httpStatus = HttpStatus.UNAUTHORIZED;
-        }
-        case 500 ->
-        {
-          customError.put("message", error.getMessage());
-          customError.put("status", 500);
-        }
-        default ->
-        {
-          customError.put("message", error.getMessage());
-          customError.put("status", 418);
-          httpStatus = HttpStatus.I_AM_A_TEAPOT;
-        }
-      }
+      httpStatus = responseStatus(statusCode);
+      customError.put("message", error.getMessage());
+      customError.put("status", httpStatus.value());
     }
 
     return ServerResponse.status(httpStatus)
         .contentType(MediaType.APPLICATION_JSON)
         .body(BodyInserters.fromValue(customError));
   }
+
+  /**
+   * Status sent to the client for an error whose own status is {@code statusCode}; anything not
+   * mapped below is answered as 418.
+   */
+  public static HttpStatus responseStatus(int statusCode) {
+    return switch (statusCode) {
+      case 400, 422 -> HttpStatus.BAD_REQUEST;
+      case 404 -> HttpStatus.NOT_FOUND;
+      case 413 -> HttpStatus.PAYLOAD_TOO_LARGE;
+      case 401, 403 -> HttpStatus.UNAUTHORIZED;
+      case 500 -> HttpStatus.INTERNAL_SERVER_ERROR;
+      default -> HttpStatus.I_AM_A_TEAPOT;
+    };
+  }
 }
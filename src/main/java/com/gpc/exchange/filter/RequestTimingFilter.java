@@ -1,26 +1,86 @@
 package com.gpc.exchange.filter;
 
+import com.gpc.exchange.exception.WebExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
 import reactor.core.publisher.Mono;
 
 @Component
 public class RequestTimingFilter implements WebFilter {
 
-  private static final String HEADER_NAME = "X-Request-Duration";
+  private static final String METRIC_NAME = "exchange.http.requests";
+
+  private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+  private final MeterRegistry registry;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+  public RequestTimingFilter(MeterRegistry registry) {
+    this.registry = registry;
+    registry.gauge(METRIC_NAME + ".active", inFlight);
+  }
 
   @Override
   public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-    long startTime = System.currentTimeMillis();
+    long startTime = System.nanoTime();
+    inFlight.incrementAndGet();
+
+    return chain.filter(exchange)
+        .doOnSuccess(done -> record(exchange, status(exchange.getResponse().getStatusCode()), startTime))
+        .doOnError(error -> record(exchange, status(exchange, error), startTime))
+        .doOnCancel(() -> record(exchange, "CANCELLED", startTime))
+        .doFinally(signal -> inFlight.decrementAndGet());
+  }
 
-    exchange.getResponse().beforeCommit(() -> {
-      long duration = System.currentTimeMillis() - startTime;
-      exchange.getResponse().getHeaders().add(HEADER_NAME, duration + "ms");
-      return Mono.empty();
-    });
+  private void record(ServerWebExchange exchange, String status, long startTime) {
+    PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    TimerKey key = new TimerKey(exchange.getRequest().getMethod().name(),
+        pattern == null ? UNKNOWN_ROUTE : pattern.getPatternString(), status);
+    timers.computeIfAbsent(key, this::register).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+  }
+
+  private Timer register(TimerKey key) {
+    return Timer.builder(METRIC_NAME)
+        .description("Latencia de las peticiones HTTP por ruta y estado")
+        .tag("method", key.method())
+        .tag("route", key.route())
+        .tag("status", key.status())
+        .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private static String status(HttpStatusCode status) {
+    return String.valueOf(status == null ? 200 : status.value());
+  }
+
+  /**
+   * The error has not reached {@link WebExceptionHandler} yet, so its status is mapped the same way
+   * the handler will answer it, unless the response was already sent.
+   */
+  private static String status(ServerWebExchange exchange, Throwable error) {
+    if (exchange.getResponse().isCommitted()) {
+      return status(exchange.getResponse().getStatusCode());
+    }
+    int statusCode = error instanceof ErrorResponse response ? response.getStatusCode().value() : 500;
+    return String.valueOf(WebExceptionHandler.responseStatus(statusCode).value());
+  }
 
-    return chain.filter(exchange);
+  private record TimerKey(String method, String route, String status) {
   }
 }
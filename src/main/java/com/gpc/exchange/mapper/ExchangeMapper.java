@@ -0,0 +1,17 @@
+package com.gpc.exchange.mapper;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.model.Exchange;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExchangeMapper {
+
+  public ExchangeDTO toDto(Exchange model) {
+    return new ExchangeDTO(model.getId(), model.getPair(), model.getBuy(), model.getSell(), model.getDateTime());
+  }
+
+  public Exchange toModel(ExchangeDTO dto) {
+    return new Exchange(dto.getId(), dto.getPair(), dto.getBuy(), dto.getSell(), dto.getDateTime());
+  }
+}
@@ -14,9 +14,17 @@ import org.springframework.data.relational.core.mapping.Table;
 @Table("exchange")
 public class Exchange {
 
+  /**
+   * Pair of quotes that do not name one, which keeps single-pair clients working unchanged.
+   */
+  public static final String DEFAULT_PAIR = "USDPEN";
+
   @Id
   private Long id;
 
+  @Column("pair")
+  private String pair = DEFAULT_PAIR;
+
   @Column("buy")
   private Double buy;
 
@@ -25,4 +33,11 @@ public class Exchange {
 
   @Column("date_time")
   private LocalDateTime dateTime;
+
+  /**
+   * Quote of the {@link #DEFAULT_PAIR}.
+   */
+  public Exchange(Long id, Double buy, Double sell, LocalDateTime dateTime) {
+    this(id, DEFAULT_PAIR, buy, sell, dateTime);
+  }
 }
@@ -0,0 +1,6 @@
+package com.gpc.exchange.realtime;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+
+public record ExchangeEvent(long id, ExchangeDTO exchange) {
+}
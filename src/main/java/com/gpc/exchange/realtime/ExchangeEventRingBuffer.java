@@ -0,0 +1,39 @@
+package com.gpc.exchange.realtime;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import java.util.ArrayList;
+import java.util.List;
+
+class ExchangeEventRingBuffer {
+
+  private final ExchangeEvent[] events;
+
+  private final int mask;
+
+  private long written;
+
+  ExchangeEventRingBuffer(int capacity) {
+    int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+    this.events = new ExchangeEvent[size];
+    this.mask = size - 1;
+  }
+
+  ExchangeEvent append(ExchangeDTO exchange) {
+    ExchangeEvent event = new ExchangeEvent(written + 1, exchange);
+    events[(int) (written++ & mask)] = event;
+    return event;
+  }
+
+  long lastId() {
+    return written;
+  }
+
+  List<ExchangeEvent> since(long lastEventId) {
+    long from = Math.max(written - events.length, lastEventId > written ? 0 : Math.max(0, lastEventId));
+    List<ExchangeEvent> replay = new ArrayList<>((int) (written - from));
+    for (long index = from; index < written; index++) {
+      replay.add(events[(int) (index & mask)]);
+    }
+    return replay;
+  }
+}
@@ -0,0 +1,163 @@
+package com.gpc.exchange.realtime;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fans quotes out to realtime subscribers through one sink per currency pair, so publishing a
+ * quote only reaches, and only costs as much as, the subscribers of its pair. Event ids and the
+ * replay buffer are also kept per pair. A pair's channel is opened by its first quote; subscribers
+ * of a pair without quotes wait for it without allocating one.
+ */
+@Component
+public class ExchangeRealtimePublisher {
+
+  private static final Duration OPEN_TIMEOUT = Duration.ofSeconds(1);
+
+  private final Map<String, PairChannel> channels = new ConcurrentHashMap<>();
+
+  private final Sinks.Many<String> opened = Sinks.many().multicast().directBestEffort();
+
+  private final Map<Long, SubscriberStats> subscribers = new ConcurrentHashMap<>();
+
+  private final AtomicLong subscriberIds = new AtomicLong();
+
+  private final OverflowPolicy defaultPolicy;
+
+  private final int bufferSize;
+
+  private final int replaySize;
+
+  public ExchangeRealtimePublisher(@Value("${exchange.realtime.overflow-policy:BUFFER}") OverflowPolicy defaultPolicy,
+                                   @Value("${exchange.realtime.buffer-size:256}") int bufferSize,
+                                   @Value("${exchange.realtime.replay-size:1024}") int replaySize) {
+    this.defaultPolicy = defaultPolicy;
+    this.bufferSize = bufferSize;
+    this.replaySize = replaySize;
+  }
+
+  public void publish(ExchangeDTO exchangeDTO) {
+    PairChannel channel = channels.get(exchangeDTO.getPair());
+    if (channel == null) {
+      channel = open(exchangeDTO.getPair());
+    }
+    channel.publish(exchangeDTO);
+  }
+
+  public Flux<ExchangeEvent> subscribe(String pair, OverflowPolicy policy, Long lastEventId) {
+    return subscribe(pair, policy, RealtimeFilter.NONE, lastEventId);
+  }
+
+  public Flux<ExchangeEvent> subscribe(String pair, OverflowPolicy policy, RealtimeFilter filter, Long lastEventId) {
+    return Flux.defer(() -> {
+      SubscriberStats stats =
+          new SubscriberStats(subscriberIds.incrementAndGet(), pair, policy == null ? defaultPolicy : policy);
+      subscribers.put(stats.getId(), stats);
+      Flux<ExchangeEvent> events = channel(pair).flatMapMany(channel ->
+          lastEventId == null ? channel.sink.asFlux() : channel.replayThenLive(lastEventId));
+      return withOverflowPolicy(filtered(events, filter, stats), stats)
+          .doOnNext(event -> stats.getDelivered().incrementAndGet())
+          .doFinally(signal -> subscribers.remove(stats.getId()));
+    });
+  }
+
+  public Collection<SubscriberStats> getSubscribers() {
+    return subscribers.values();
+  }
+
+  boolean hasChannel(String pair) {
+    return channels.containsKey(pair);
+  }
+
+  /**
+   * Opens the channel of {@code pair} and tells the subscribers waiting for it, before its first
+   * quote is published, so they receive that quote too.
+   */
+  private PairChannel open(String pair) {
+    PairChannel created = new PairChannel(replaySize);
+    PairChannel existing = channels.putIfAbsent(pair, created);
+    if (existing != null) {
+      return existing;
+    }
+    opened.emitNext(pair, Sinks.EmitFailureHandler.busyLooping(OPEN_TIMEOUT));
+    return created;
+  }
+
+  /**
+   * The channel of {@code pair}, once its first quote opens it. The lookup runs after listening
+   * for openings, so a channel opened in between is not missed.
+   */
+  private Mono<PairChannel> channel(String pair) {
+    PairChannel channel = channels.get(pair);
+    if (channel != null) {
+      return Mono.just(channel);
+    }
+    return Flux.merge(opened.asFlux().filter(pair::equals).map(channels::get),
+            Mono.fromSupplier(() -> channels.get(pair)))
+        .next();
+  }
+
+  /**
+   * Applies the subscriber's filter ahead of its buffer. Events are counted as filtered on the way
+   * in and uncounted when they come out, so one held by the sampler is counted until it is sent.
+   */
+  private Flux<ExchangeEvent> filtered(Flux<ExchangeEvent> events, RealtimeFilter filter, SubscriberStats stats) {
+    if (filter == null || filter.isEmpty()) {
+      return events;
+    }
+    return filter.apply(events.doOnNext(event -> stats.getFiltered().incrementAndGet()))
+        .doOnNext(event -> stats.getFiltered().decrementAndGet());
+  }
+
+  private Flux<ExchangeEvent> withOverflowPolicy(Flux<ExchangeEvent> flux, SubscriberStats stats) {
+    return switch (stats.getPolicy()) {
+      case BUFFER -> flux.onBackpressureBuffer(bufferSize,
+          dropped -> stats.getDropped().incrementAndGet(), BufferOverflowStrategy.DROP_LATEST);
+      case DROP_OLDEST -> flux.onBackpressureBuffer(bufferSize,
+          dropped -> stats.getDropped().incrementAndGet(), BufferOverflowStrategy.DROP_OLDEST);
+      case LATEST -> flux.onBackpressureBuffer(1,
+          conflated -> stats.getConflated().incrementAndGet(), BufferOverflowStrategy.DROP_OLDEST);
+    };
+  }
+
+  private static final class PairChannel {
+
+    private final Sinks.Many<ExchangeEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    private final ExchangeEventRingBuffer replayBuffer;
+
+    private PairChannel(int replaySize) {
+      this.replayBuffer = new ExchangeEventRingBuffer(replaySize);
+    }
+
+    private synchronized void publish(ExchangeDTO exchangeDTO) {
+      sink.tryEmitNext(replayBuffer.append(exchangeDTO));
+    }
+
+    private Flux<ExchangeEvent> replayThenLive(long lastEventId) {
+      Sinks.Many<ExchangeEvent> pending = Sinks.many().unicast().onBackpressureBuffer();
+      Disposable live = sink.asFlux().subscribe(pending::tryEmitNext);
+      List<ExchangeEvent> replay;
+      long replayedUpTo;
+      synchronized (this) {
+        replay = replayBuffer.since(lastEventId);
+        replayedUpTo = replayBuffer.lastId();
+      }
+      return Flux.fromIterable(replay)
+          .concatWith(pending.asFlux().filter(event -> event.id() > replayedUpTo))
+          .doFinally(signal -> live.dispose());
+    }
+  }
+}
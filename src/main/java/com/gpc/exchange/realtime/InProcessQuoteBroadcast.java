@@ -0,0 +1,33 @@
+package com.gpc.exchange.realtime;
+
+import java.time.Duration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Single-node broadcast: batches only reach the subscribers of this JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "exchange.realtime.broadcast.type", havingValue = "in-process", matchIfMissing = true)
+public class InProcessQuoteBroadcast implements QuoteBroadcast {
+
+  private static final Duration EMIT_TIMEOUT = Duration.ofSeconds(1);
+
+  private final Sinks.Many<QuoteBatch> sink = Sinks.many().multicast().directBestEffort();
+
+  /**
+   * {@link QuoteFanOut} already sends one batch at a time; other callers racing it spin briefly
+   * instead of taking a lock.
+   */
+  @Override
+  public void publish(QuoteBatch batch) {
+    sink.emitNext(batch, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+  }
+
+  @Override
+  public Flux<QuoteBatch> receive() {
+    return sink.asFlux();
+  }
+}
@@ -0,0 +1,44 @@
+package com.gpc.exchange.realtime;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Stand-in for a network broadcast between several nodes in one JVM, for tests and benchmarks.
+ * Every node {@link #join() joined} to the same loopback receives every batch published by any of
+ * them, synchronously on the publishing thread.
+ */
+public class LoopbackQuoteBroadcast {
+
+  private static final Duration EMIT_TIMEOUT = Duration.ofSeconds(1);
+
+  private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+  public QuoteBroadcast join() {
+    Node node = new Node();
+    nodes.add(node);
+    return node;
+  }
+
+  private final class Node implements QuoteBroadcast {
+
+    private final Sinks.Many<QuoteBatch> sink = Sinks.many().multicast().directBestEffort();
+
+    @Override
+    public void publish(QuoteBatch batch) {
+      nodes.forEach(node -> node.deliver(batch));
+    }
+
+    @Override
+    public Flux<QuoteBatch> receive() {
+      return sink.asFlux();
+    }
+
+    private void deliver(QuoteBatch batch) {
+      sink.emitNext(batch, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+    }
+  }
+}
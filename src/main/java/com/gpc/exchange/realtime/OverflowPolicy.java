@@ -0,0 +1,7 @@
+package com.gpc.exchange.realtime;
+
+public enum OverflowPolicy {
+  BUFFER,
+  DROP_OLDEST,
+  LATEST
+}
@@ -0,0 +1,11 @@
+package com.gpc.exchange.realtime;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import java.util.List;
+
+/**
+ * Quotes saved together on one node. {@code sequence} counts the batches of that node from 1
+ * without holes, so a receiver can tell when batches were lost in transit.
+ */
+public record QuoteBatch(String node, long sequence, List<ExchangeDTO> quotes) {
+}
@@ -0,0 +1,18 @@
+package com.gpc.exchange.realtime;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Transport that carries saved quotes to the realtime subscribers of every node, including the
+ * node that saved them. Implementations only move batches; numbering and gap detection are done
+ * by {@link QuoteFanOut}.
+ */
+public interface QuoteBroadcast {
+
+  void publish(QuoteBatch batch);
+
+  /**
+   * Batches published by any node, one at a time and in the order each node published them.
+   */
+  Flux<QuoteBatch> receive();
+}
@@ -0,0 +1,148 @@
+package com.gpc.exchange.realtime;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.util.retry.Retry;
+
+/**
+ * Sends the quotes saved on this node through the {@link QuoteBroadcast} as numbered batches, and
+ * hands every batch received from any node to the local {@link ExchangeRealtimePublisher}.
+ *
+ * <p>The first batch seen from a node, or a batch numbered 1 (the node restarted), sets where its
+ * numbering is expected to continue. A batch that skips ahead of that is still delivered, and the
+ * skipped batches are counted in {@code exchange.broadcast.gaps}; a batch at or behind it is
+ * dropped as {@code exchange.broadcast.stale}.
+ *
+ * <p>Batches are numbered as they leave a serialized sink, so concurrent saves never wait on a
+ * lock yet sequences still leave this node in order.
+ */
+@Slf4j
+@Component
+public class QuoteFanOut {
+
+  private static final String METRIC_NAME = "exchange.broadcast";
+
+  private static final Duration RESUBSCRIBE_DELAY = Duration.ofSeconds(1);
+
+  private final QuoteBroadcast broadcast;
+
+  private final ExchangeRealtimePublisher realtimePublisher;
+
+  @Getter
+  private final String node;
+
+  /**
+   * Only touched from {@link #deliver}, which the broadcast calls one batch at a time.
+   */
+  private final Map<String, Long> lastSequences = new HashMap<>();
+
+  private final Counter published;
+
+  private final Counter received;
+
+  private final Counter gaps;
+
+  private final Counter stale;
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final Disposable outboxSubscription;
+
+  private final Disposable subscription;
+
+  private FluxSink<List<ExchangeDTO>> outbox;
+
+  public QuoteFanOut(QuoteBroadcast broadcast, ExchangeRealtimePublisher realtimePublisher, MeterRegistry registry,
+                     @Value("${exchange.realtime.broadcast.node-id:}") String node) {
+    this.broadcast = broadcast;
+    this.realtimePublisher = realtimePublisher;
+    this.node = node.isEmpty() ? UUID.randomUUID().toString() : node;
+    this.published = Counter.builder(METRIC_NAME + ".published")
+        .description("Lotes de posturas enviados por este nodo")
+        .register(registry);
+    this.received = Counter.builder(METRIC_NAME + ".received")
+        .description("Lotes de posturas recibidos de cualquier nodo")
+        .register(registry);
+    this.gaps = Counter.builder(METRIC_NAME + ".gaps")
+        .description("Lotes de otros nodos que no llegaron, según su numeración")
+        .register(registry);
+    this.stale = Counter.builder(METRIC_NAME + ".stale")
+        .description("Lotes repetidos o fuera de orden descartados")
+        .register(registry);
+    this.outboxSubscription = Flux.<List<ExchangeDTO>>create(sink -> outbox = sink)
+        .subscribe(this::send);
+    this.subscription = broadcast.receive()
+        .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, RESUBSCRIBE_DELAY)
+            .doBeforeRetry(signal -> log.error("Quote broadcast failed, resubscribing", signal.failure())))
+        .subscribe(this::receive);
+  }
+
+  /**
+   * Queues the batch for sending; whichever caller finds the sink idle numbers and sends every
+   * batch queued meanwhile.
+   */
+  public void publish(List<ExchangeDTO> quotes) {
+    if (quotes.isEmpty()) {
+      return;
+    }
+    outbox.next(List.copyOf(quotes));
+  }
+
+  @PreDestroy
+  public void close() {
+    outboxSubscription.dispose();
+    subscription.dispose();
+  }
+
+  private void send(List<ExchangeDTO> quotes) {
+    try {
+      broadcast.publish(new QuoteBatch(node, sequence.incrementAndGet(), quotes));
+      published.increment();
+    } catch (RuntimeException e) {
+      log.error("Could not broadcast {} quotes", quotes.size(), e);
+    }
+  }
+
+  /**
+   * Errors are logged here rather than left to end the subscription, after which no node's quotes
+   * would reach this node's subscribers.
+   */
+  private void receive(QuoteBatch batch) {
+    try {
+      deliver(batch);
+    } catch (RuntimeException e) {
+      log.error("Could not deliver quote batch {} from node {}", batch.sequence(), batch.node(), e);
+    }
+  }
+
+  private void deliver(QuoteBatch batch) {
+    received.increment();
+    Long last = lastSequences.get(batch.node());
+    if (last != null && batch.sequence() <= last && batch.sequence() != 1) {
+      stale.increment();
+      return;
+    }
+    if (last != null && batch.sequence() > last + 1) {
+      long missing = batch.sequence() - last - 1;
+      gaps.increment(missing);
+      log.warn("Missed {} quote batches from node {} before sequence {}", missing, batch.node(), batch.sequence());
+    }
+    lastSequences.put(batch.node(), batch.sequence());
+    batch.quotes().forEach(realtimePublisher::publish);
+  }
+}
@@ -0,0 +1,64 @@
+package com.gpc.exchange.realtime;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import java.time.Duration;
+import reactor.core.publisher.Flux;
+
+/**
+ * Per-subscriber reduction of a realtime stream, applied before events are buffered and encoded.
+ * With a {@code sample} interval the subscriber gets at most the latest quote of each interval;
+ * with thresholds it then only gets quotes whose buy or sell moved by at least {@code minChange},
+ * or whose spread moved by at least {@code minSpreadChange}, since the last quote it was sent.
+ * Unset fields are ignored.
+ */
+public record RealtimeFilter(Duration sample, Double minChange, Double minSpreadChange) {
+
+  public static final RealtimeFilter NONE = new RealtimeFilter(null, null, null);
+
+  /**
+   * Lets a move of exactly the threshold through despite binary rounding (3.55 - 3.50 < 0.05).
+   */
+  private static final double EPSILON = 1e-9;
+
+  public boolean isEmpty() {
+    return sample == null && !hasThresholds();
+  }
+
+  Flux<ExchangeEvent> apply(Flux<ExchangeEvent> events) {
+    Flux<ExchangeEvent> sampled = sample == null ? events : events.sample(sample);
+    if (!hasThresholds()) {
+      return sampled;
+    }
+    return Flux.defer(() -> {
+      ExchangeDTO[] lastSent = new ExchangeDTO[1];
+      return sampled.filter(event -> {
+        if (lastSent[0] != null && !movedEnough(lastSent[0], event.exchange())) {
+          return false;
+        }
+        lastSent[0] = event.exchange();
+        return true;
+      });
+    });
+  }
+
+  private boolean hasThresholds() {
+    return minChange != null || minSpreadChange != null;
+  }
+
+  private boolean movedEnough(ExchangeDTO previous, ExchangeDTO current) {
+    if (minChange != null && (reached(current.getBuy() - previous.getBuy(), minChange)
+        || reached(current.getSell() - previous.getSell(), minChange))) {
+      return true;
+    }
+    return minSpreadChange != null
+        && reached(spread(current) - spread(previous), minSpreadChange);
+  }
+
+  private static boolean reached(double change, double threshold) {
+    return Math.abs(change) >= threshold - EPSILON;
+  }
+
+  private static double spread(ExchangeDTO exchange) {
+    return exchange.getSell() - exchange.getBuy();
+  }
+}
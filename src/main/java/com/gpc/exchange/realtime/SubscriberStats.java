@@ -0,0 +1,24 @@
+package com.gpc.exchange.realtime;
+
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class SubscriberStats {
+
+  private final long id;
+
+  private final String pair;
+
+  private final OverflowPolicy policy;
+
+  private final AtomicLong delivered = new AtomicLong();
+
+  private final AtomicLong dropped = new AtomicLong();
+
+  private final AtomicLong conflated = new AtomicLong();
+
+  private final AtomicLong filtered = new AtomicLong();
+}
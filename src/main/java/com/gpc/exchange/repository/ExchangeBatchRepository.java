@@ -0,0 +1,13 @@
+package com.gpc.exchange.repository;
+
+import com.gpc.exchange.model.Exchange;
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ExchangeBatchRepository {
+
+  Flux<Exchange> insertAll(List<Exchange> exchanges);
+
+  Mono<Void> insertAllWithIds(List<Exchange> exchanges);
+}
@@ -0,0 +1,70 @@
+package com.gpc.exchange.repository;
+
+import com.gpc.exchange.model.Exchange;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ExchangeBatchRepositoryImpl implements ExchangeBatchRepository {
+
+  private final DatabaseClient databaseClient;
+
+  @Override
+  public Flux<Exchange> insertAll(List<Exchange> exchanges) {
+    if (exchanges.isEmpty()) {
+      return Flux.empty();
+    }
+    StringBuilder sql = new StringBuilder("INSERT INTO exchange (pair, buy, sell, date_time) VALUES ");
+    for (int i = 0; i < exchanges.size(); i++) {
+      sql.append(i == 0 ? "" : ", ").append("(:pair").append(i).append(", :buy").append(i)
+          .append(", :sell").append(i).append(", :dateTime").append(i).append(')');
+    }
+
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+        .filter(statement -> statement.returnGeneratedValues("id"));
+    for (int i = 0; i < exchanges.size(); i++) {
+      Exchange exchange = exchanges.get(i);
+      spec = spec.bind("pair" + i, exchange.getPair())
+          .bind("buy" + i, exchange.getBuy())
+          .bind("sell" + i, exchange.getSell())
+          .bind("dateTime" + i, exchange.getDateTime());
+    }
+
+    return spec.map(row -> row.get("id", Long.class))
+        .all()
+        .index()
+        .map(generated -> {
+          Exchange exchange = exchanges.get(generated.getT1().intValue());
+          return new Exchange(generated.getT2(), exchange.getPair(), exchange.getBuy(), exchange.getSell(), exchange.getDateTime());
+        });
+  }
+
+  @Override
+  public Mono<Void> insertAllWithIds(List<Exchange> exchanges) {
+    if (exchanges.isEmpty()) {
+      return Mono.empty();
+    }
+    return databaseClient.inConnectionMany(connection -> {
+          Statement statement =
+              connection.createStatement("INSERT INTO exchange (id, pair, buy, sell, date_time) VALUES ($1, $2, $3, $4, $5)");
+          for (int i = 0; i < exchanges.size(); i++) {
+            Exchange exchange = exchanges.get(i);
+            if (i > 0) {
+              statement.add();
+            }
+            statement.bind(0, exchange.getId())
+                .bind(1, exchange.getPair())
+                .bind(2, exchange.getBuy())
+                .bind(3, exchange.getSell())
+                .bind(4, exchange.getDateTime());
+          }
+          return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+        })
+        .then();
+  }
+}
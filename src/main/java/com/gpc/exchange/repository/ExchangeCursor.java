@@ -0,0 +1,38 @@
+package com.gpc.exchange.repository;
+
+import com.gpc.exchange.model.Exchange;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in the {@code (date_time, id)} ordering of the exchange table, exchanged with
+ * clients as an opaque URL-safe token.
+ */
+public record ExchangeCursor(LocalDateTime dateTime, long id) {
+
+  private static final char SEPARATOR = '|';
+
+  public static ExchangeCursor of(Exchange exchange) {
+    return new ExchangeCursor(exchange.getDateTime(), exchange.getId());
+  }
+
+  public String encode() {
+    String raw = dateTime.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+   */
+  public static ExchangeCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      return new ExchangeCursor(LocalDateTime.parse(raw.substring(0, separator)),
+          Long.parseLong(raw.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("El cursor es inválido", e);
+    }
+  }
+}
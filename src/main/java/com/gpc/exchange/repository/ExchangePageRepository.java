@@ -0,0 +1,15 @@
+package com.gpc.exchange.repository;
+
+import com.gpc.exchange.model.Exchange;
+import java.time.LocalDateTime;
+import reactor.core.publisher.Flux;
+
+public interface ExchangePageRepository {
+
+  /**
+   * Streams quotes of {@code pair} ordered by {@code (date_time, id)}, strictly after {@code after}
+   * and within {@code [from, to)}. Every argument is optional; a {@code null} pair matches every
+   * pair and a {@code null} limit streams to the end.
+   */
+  Flux<Exchange> findPage(String pair, ExchangeCursor after, LocalDateTime from, LocalDateTime to, Integer limit);
+}
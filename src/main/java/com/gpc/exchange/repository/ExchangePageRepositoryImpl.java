@@ -0,0 +1,59 @@
+package com.gpc.exchange.repository;
+
+import com.gpc.exchange.model.Exchange;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+@RequiredArgsConstructor
+public class ExchangePageRepositoryImpl implements ExchangePageRepository {
+
+  private final DatabaseClient databaseClient;
+
+  @Override
+  public Flux<Exchange> findPage(String pair, ExchangeCursor after, LocalDateTime from, LocalDateTime to, Integer limit) {
+    StringBuilder sql = new StringBuilder("SELECT id, pair, buy, sell, date_time FROM exchange WHERE 1 = 1");
+    if (pair != null) {
+      sql.append(" AND pair = :pair");
+    }
+    if (after != null) {
+      sql.append(" AND (date_time > :afterDateTime OR (date_time = :afterDateTime AND id > :afterId))");
+    }
+    if (from != null) {
+      sql.append(" AND date_time >= :from");
+    }
+    if (to != null) {
+      sql.append(" AND date_time < :to");
+    }
+    sql.append(" ORDER BY date_time, id");
+    if (limit != null) {
+      sql.append(" LIMIT :limit");
+    }
+
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+    if (pair != null) {
+      spec = spec.bind("pair", pair);
+    }
+    if (after != null) {
+      spec = spec.bind("afterDateTime", after.dateTime()).bind("afterId", after.id());
+    }
+    if (from != null) {
+      spec = spec.bind("from", from);
+    }
+    if (to != null) {
+      spec = spec.bind("to", to);
+    }
+    if (limit != null) {
+      spec = spec.bind("limit", limit);
+    }
+
+    return spec.map(row -> new Exchange(
+            row.get("id", Long.class),
+            row.get("pair", String.class),
+            row.get("buy", Double.class),
+            row.get("sell", Double.class),
+            row.get("date_time", LocalDateTime.class)))
+        .all();
+  }
+}
@@ -1,13 +1,29 @@
 package com.gpc.exchange.repository;
 
+import com.gpc.exchange.aggregate.DailyAggregate;
 import com.gpc.exchange.model.Exchange;
 import java.time.LocalDateTime;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Repository
-public interface ExchangeRepository extends ReactiveCrudRepository<Exchange, Long> {
+public interface ExchangeRepository extends ReactiveCrudRepository<Exchange, Long>, ExchangeBatchRepository,
+    ExchangePageRepository {
 
-  Flux<Exchange> findByDateTimeBetween(LocalDateTime start, LocalDateTime end);
+  Flux<Exchange> findByPairAndDateTimeBetween(String pair, LocalDateTime start, LocalDateTime end);
+
+  @Query("SELECT COALESCE(MAX(id), 0) FROM exchange")
+  Mono<Long> findLastId();
+
+  @Query("""
+      SELECT COUNT(*) AS count,
+             COALESCE(SUM(buy), 0) AS buy_sum, COALESCE(MIN(buy), 0) AS buy_min, COALESCE(MAX(buy), 0) AS buy_max,
+             COALESCE(SUM(sell), 0) AS sell_sum, COALESCE(MIN(sell), 0) AS sell_min, COALESCE(MAX(sell), 0) AS sell_max
+      FROM exchange
+      WHERE pair = :pair AND date_time >= :start AND date_time < :end
+      """)
+  Mono<DailyAggregate> aggregateByDateTimeRange(String pair, LocalDateTime start, LocalDateTime end);
 }
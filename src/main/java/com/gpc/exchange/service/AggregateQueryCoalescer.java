@@ -0,0 +1,64 @@
+package com.gpc.exchange.service;
+
+import com.gpc.exchange.aggregate.DailyAggregate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single-flight for daily aggregate queries: concurrent callers asking for the same
+ * {@code (pair, date)} share the query already in flight instead of starting their own. The entry
+ * is dropped as soon as the query terminates, so nothing is reused by later callers; callers that
+ * joined one are counted in {@code exchange.profile.coalesced}.
+ */
+@Component
+public class AggregateQueryCoalescer {
+
+  private final Map<PairDate, Mono<DailyAggregate>> inFlight = new ConcurrentHashMap<>();
+
+  private final Counter coalesced;
+
+  public AggregateQueryCoalescer(MeterRegistry registry) {
+    this.coalesced = Counter.builder("exchange.profile.coalesced")
+        .description("Consultas de agregados diarios que compartieron una consulta en curso")
+        .register(registry);
+  }
+
+  public Mono<DailyAggregate> load(String pair, LocalDate date, Supplier<Mono<DailyAggregate>> query) {
+    return Mono.defer(() -> {
+      PairDate key = new PairDate(pair, date);
+      Mono<DailyAggregate> started = start(key, query);
+      Mono<DailyAggregate> shared = inFlight.putIfAbsent(key, started);
+      if (shared == null) {
+        return started;
+      }
+      coalesced.increment();
+      return shared;
+    });
+  }
+
+  /**
+   * Stops later callers from joining the query in flight for that day, which may have read the
+   * storage before a quote of that day was saved.
+   */
+  public void forget(String pair, LocalDate date) {
+    inFlight.remove(new PairDate(pair, date));
+  }
+
+  private Mono<DailyAggregate> start(PairDate key, Supplier<Mono<DailyAggregate>> query) {
+    Mono<?>[] self = new Mono<?>[1];
+    Mono<DailyAggregate> shared = Mono.defer(query)
+        .doFinally(signal -> inFlight.remove(key, self[0]))
+        .cache();
+    self[0] = shared;
+    return shared;
+  }
+
+  private record PairDate(String pair, LocalDate date) {
+  }
+}
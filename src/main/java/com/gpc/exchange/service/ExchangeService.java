@@ -1,9 +1,19 @@
 package com.gpc.exchange.service;
 
+import com.gpc.exchange.aggregate.LatestExchange;
+import com.gpc.exchange.dto.CandleDTO;
+import com.gpc.exchange.dto.CandleFilterDTO;
+import com.gpc.exchange.dto.DateFilterDTO;
 import com.gpc.exchange.dto.ExchangeDTO;
 import com.gpc.exchange.dto.ProfileExchangeDTO;
 import com.gpc.exchange.dto.ProfileFilterDTO;
+import com.gpc.exchange.dto.ProfilesExchangeDTO;
+import com.gpc.exchange.dto.RealtimeFilterDTO;
+import com.gpc.exchange.dto.SubscriberStatsDTO;
 import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.realtime.ExchangeEvent;
+import com.gpc.exchange.repository.ExchangeCursor;
+import java.time.LocalDateTime;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -11,9 +21,23 @@ public interface ExchangeService {
 
   Flux<Exchange> findAll();
 
+  Flux<Exchange> findPage(String pair, ExchangeCursor after, LocalDateTime from, LocalDateTime to, Integer limit);
+
+  Mono<LatestExchange> findLatest(String pair);
+
   Mono<Exchange> save(Exchange exchange);
 
-  Flux<ExchangeDTO> streamExchange();
+  Flux<Exchange> saveAll(Flux<Exchange> exchanges);
+
+  Flux<ExchangeDTO> streamExchange(String pair);
+
+  Flux<ExchangeEvent> streamExchangeEvents(RealtimeFilterDTO dto, Long lastEventId);
+
+  Flux<SubscriberStatsDTO> findRealtimeSubscribers();
 
   Mono<ProfileExchangeDTO> findProfileExchange(ProfileFilterDTO dto);
+
+  Mono<ProfilesExchangeDTO> findProfilesExchange(DateFilterDTO dto);
+
+  Flux<CandleDTO> findCandles(CandleFilterDTO dto);
 }
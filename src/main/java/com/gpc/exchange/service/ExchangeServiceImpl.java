@@ -1,93 +1,237 @@
 package com.gpc.exchange.service;
 
+import com.gpc.exchange.aggregate.Candle;
+import com.gpc.exchange.aggregate.CandleInterval;
+import com.gpc.exchange.aggregate.CandleStore;
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.aggregate.DailyAggregateStore;
+import com.gpc.exchange.aggregate.DailyQuantileStore;
+import com.gpc.exchange.aggregate.DailyQuantiles;
+import com.gpc.exchange.aggregate.LatestExchange;
+import com.gpc.exchange.aggregate.LatestExchangeStore;
+import com.gpc.exchange.dto.CandleDTO;
+import com.gpc.exchange.dto.CandleFilterDTO;
+import com.gpc.exchange.dto.DateFilterDTO;
 import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.dto.OhlcDTO;
 import com.gpc.exchange.dto.ProfileExchangeDTO;
 import com.gpc.exchange.dto.ProfileFilterDTO;
+import com.gpc.exchange.dto.ProfilesExchangeDTO;
+import com.gpc.exchange.dto.RealtimeFilterDTO;
+import com.gpc.exchange.dto.SubscriberStatsDTO;
 import com.gpc.exchange.model.Exchange;
-import com.gpc.exchange.repository.ExchangeRepository;
+import com.gpc.exchange.realtime.ExchangeEvent;
+import com.gpc.exchange.realtime.ExchangeRealtimePublisher;
+import com.gpc.exchange.realtime.QuoteFanOut;
+import com.gpc.exchange.realtime.RealtimeFilter;
+import com.gpc.exchange.repository.ExchangeCursor;
+import com.gpc.exchange.storage.ExchangeStorage;
+import com.gpc.exchange.util.DataInitializer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 
 @Service
 @RequiredArgsConstructor
 public class ExchangeServiceImpl implements ExchangeService {
 
-  private final ExchangeRepository repository;
+  private static final int BATCH_SIZE = 100;
 
-  private final Sinks.Many<ExchangeDTO> sink = Sinks.many().multicast().onBackpressureBuffer();
+  private static final Duration BATCH_MAX_DELAY = Duration.ofMillis(50);
+
+  /**
+   * Profiles answered from the daily quantile sketches, within {@link
+   * com.gpc.exchange.aggregate.QuantileSketch#RELATIVE_ACCURACY} of the exact quantile.
+   */
+  private static final Map<String, Double> QUANTILE_PROFILES = Map.of("MEDIAN", 0.5, "P90", 0.9, "P99", 0.99);
+
+  private final ExchangeStorage storage;
+
+  private final DailyAggregateStore aggregateStore;
+
+  private final DailyQuantileStore quantileStore;
+
+  private final CandleStore candleStore;
+
+  private final LatestExchangeStore latestStore;
+
+  private final ProfileCache profileCache;
+
+  private final AggregateQueryCoalescer aggregateQueries;
+
+  private final ExchangeRealtimePublisher realtimePublisher;
+
+  private final QuoteFanOut fanOut;
+
+  private final DataInitializer dataInitializer;
 
   @Override
   public Flux<Exchange> findAll() {
-    return repository.findAll();
+    return storage.findAll();
+  }
+
+  @Override
+  public Flux<Exchange> findPage(String pair, ExchangeCursor after, LocalDateTime from, LocalDateTime to,
+                                 Integer limit) {
+    return storage.findPage(pair, after, from, to, limit);
+  }
+
+  @Override
+  public Mono<LatestExchange> findLatest(String pair) {
+    return Mono.defer(() -> Mono.justOrEmpty(latestStore.find(pair)));
   }
 
   @Override
   public Mono<Exchange> save(Exchange exchange) {
-    return repository.save(exchange).doOnNext(saved -> {
-      ExchangeDTO exchangeDTO = new ExchangeDTO(saved.getId(), saved.getBuy(), saved.getSell(), saved.getDateTime());
-      sink.tryEmitNext(exchangeDTO);
-    });
+    return awaitStartupData().then(Mono.defer(() -> storage.save(exchange)))
+        .doOnNext(saved -> publish(List.of(saved)));
+  }
+
+  @Override
+  public Flux<Exchange> saveAll(Flux<Exchange> exchanges) {
+    return exchanges.bufferTimeout(BATCH_SIZE, BATCH_MAX_DELAY, true)
+        .concatMap(batch -> awaitStartupData().then(Mono.defer(() -> storage.insertAll(batch).collectList())))
+        .doOnNext(this::publish)
+        .flatMapIterable(saved -> saved);
+  }
+
+  @Override
+  public Flux<ExchangeDTO> streamExchange(String pair) {
+    return realtimePublisher.subscribe(pair, null, null).map(ExchangeEvent::exchange);
+  }
+
+  @Override
+  public Flux<ExchangeEvent> streamExchangeEvents(RealtimeFilterDTO dto, Long lastEventId) {
+    RealtimeFilter filter = new RealtimeFilter(dto.getSample(), dto.getMinChange(), dto.getMinSpreadChange());
+    return realtimePublisher.subscribe(dto.getPair(), dto.getOverflow(), filter, lastEventId);
   }
 
   @Override
-  public Flux<ExchangeDTO> streamExchange() {
-    return sink.asFlux();
+  public Flux<SubscriberStatsDTO> findRealtimeSubscribers() {
+    return Flux.fromIterable(realtimePublisher.getSubscribers())
+        .map(stats -> new SubscriberStatsDTO(stats.getId(), stats.getPair(), stats.getPolicy().name(), stats.getDelivered().get(),
+            stats.getDropped().get(), stats.getConflated().get(), stats.getFiltered().get()));
   }
 
   @Override
   public Mono<ProfileExchangeDTO> findProfileExchange(ProfileFilterDTO dto) {
-    return findByDate(dto.getDate())
-        .collectList()
-        .flatMap(exchanges -> getProfileExchange(dto.getProfile(), exchanges));
+    Double quantile = QUANTILE_PROFILES.get(dto.getProfile());
+    if (quantile != null) {
+      return findQuantileProfile(dto, quantile);
+    }
+    return Mono.defer(() -> Mono.justOrEmpty(profileCache.get(dto.getPair(), dto.getProfile(), dto.getDate(),
+            () -> aggregateStore.find(dto.getPair(), dto.getDate())
+                .map(aggregate -> toProfileExchange(dto.getProfile(), aggregate))
+                .orElse(null))))
+        .switchIfEmpty(Mono.defer(() -> aggregateByDate(dto.getPair(), dto.getDate()))
+            .map(aggregate -> toProfileExchange(dto.getProfile(), aggregate)));
   }
 
-  private Flux<Exchange> findByDate(LocalDate date) {
-    LocalDateTime startOfDay = date.atStartOfDay();
-    LocalDateTime endOfDay = date.atTime(23, 59, 59);
-    return repository.findByDateTimeBetween(startOfDay, endOfDay);
+  @Override
+  public Mono<ProfilesExchangeDTO> findProfilesExchange(DateFilterDTO dto) {
+    return findDailyAggregate(dto.getPair(), dto.getDate())
+        .map(aggregate -> new ProfilesExchangeDTO(
+            toProfileExchangeDTO(aggregate.buyMax(), aggregate.sellMax()),
+            toProfileExchangeDTO(aggregate.buyAverage(), aggregate.sellAverage()),
+            toProfileExchangeDTO(aggregate.buyMin(), aggregate.sellMin())
+        ));
   }
 
-  private Mono<ProfileExchangeDTO> getProfileExchange(String profile, List<Exchange> exchanges) {
-    return switch (profile) {
-      case "LOW" -> getLowProfileExchange(exchanges);
-      case "MEDIUM" -> getMediumProfileExchange(exchanges);
-      case "HIGH" -> getHighProfileExchange(exchanges);
-      default -> Mono.error(new IllegalArgumentException("Invalid profile type"));
-    };
+  @Override
+  public Flux<CandleDTO> findCandles(CandleFilterDTO dto) {
+    return Flux.defer(() -> Flux.fromIterable(candleStore.find(dto.getPair(),
+            CandleInterval.fromLabel(dto.getInterval()), dto.getFrom(), dto.getTo())))
+        .map(this::toCandleDTO);
+  }
+
+  /**
+   * Writes wait for the startup seed and rollup rebuild, which would otherwise collide with their
+   * ids or wipe what they added to the rollups.
+   */
+  private Mono<Void> awaitStartupData() {
+    return dataInitializer.ready();
+  }
+
+  private void publish(List<Exchange> saved) {
+    List<ExchangeDTO> quotes = new ArrayList<>(saved.size());
+    for (Exchange exchange : saved) {
+      aggregateStore.add(exchange);
+      quantileStore.add(exchange);
+      profileCache.invalidate(exchange.getPair(), exchange.getDateTime().toLocalDate());
+      aggregateQueries.forget(exchange.getPair(), exchange.getDateTime().toLocalDate());
+      candleStore.add(exchange);
+      latestStore.add(exchange);
+      quotes.add(new ExchangeDTO(exchange.getId(), exchange.getPair(), exchange.getBuy(), exchange.getSell(),
+          exchange.getDateTime()));
+    }
+    fanOut.publish(quotes);
+  }
+
+  private Mono<DailyAggregate> findDailyAggregate(String pair, LocalDate date) {
+    return Mono.defer(() -> Mono.justOrEmpty(aggregateStore.find(pair, date)))
+        .switchIfEmpty(Mono.defer(() -> aggregateByDate(pair, date)));
   }
 
-  private Mono<ProfileExchangeDTO> getLowProfileExchange(List<Exchange> exchanges) {
-    double buy = exchanges.stream().mapToDouble(Exchange::getBuy).max().orElse(0);
-    double sell = exchanges.stream().mapToDouble(Exchange::getSell).max().orElse(0);
-    return getProfileExchangeDTO(buy, sell);
+  private Mono<DailyAggregate> aggregateByDate(String pair, LocalDate date) {
+    return aggregateQueries.load(pair, date,
+        () -> storage.aggregateByDateTimeRange(pair, date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+            .defaultIfEmpty(DailyAggregate.EMPTY));
   }
 
-  private Mono<ProfileExchangeDTO> getMediumProfileExchange(List<Exchange> exchanges) {
-    double buy = exchanges.stream().mapToDouble(Exchange::getBuy).average().orElse(0);
-    double sell = exchanges.stream().mapToDouble(Exchange::getSell).average().orElse(0);
-    return getProfileExchangeDTO(buy, sell);
+  private Mono<ProfileExchangeDTO> findQuantileProfile(ProfileFilterDTO dto, double quantile) {
+    return Mono.defer(() -> Mono.justOrEmpty(profileCache.get(dto.getPair(), dto.getProfile(), dto.getDate(),
+            () -> quantileStore.find(dto.getPair(), dto.getDate())
+                .map(quantiles -> toQuantileProfile(quantiles, quantile))
+                .orElse(null))))
+        .switchIfEmpty(Mono.defer(() -> quantilesByDate(dto.getPair(), dto.getDate()))
+            .map(quantiles -> toQuantileProfile(quantiles, quantile)));
+  }
+
+  /**
+   * Sketches the day from storage when it is not in memory, which only happens for days without
+   * quotes or before the startup rebuild finishes.
+   */
+  private Mono<DailyQuantiles> quantilesByDate(String pair, LocalDate date) {
+    return storage.findPage(pair, null, date.atStartOfDay(), date.plusDays(1).atStartOfDay(), null)
+        .reduceWith(DailyQuantiles::new, (quantiles, exchange) -> {
+          quantiles.add(exchange);
+          return quantiles;
+        });
+  }
+
+  private ProfileExchangeDTO toQuantileProfile(DailyQuantiles quantiles, double quantile) {
+    return toProfileExchangeDTO(quantiles.buy(quantile), quantiles.sell(quantile));
+  }
+
+  private ProfileExchangeDTO toProfileExchange(String profile, DailyAggregate aggregate) {
+    return switch (profile) {
+      case "LOW" -> toProfileExchangeDTO(aggregate.buyMax(), aggregate.sellMax());
+      case "MEDIUM" -> toProfileExchangeDTO(aggregate.buyAverage(), aggregate.sellAverage());
+      case "HIGH" -> toProfileExchangeDTO(aggregate.buyMin(), aggregate.sellMin());
+      default -> throw new IllegalArgumentException("Invalid profile type");
+    };
   }
 
-  private Mono<ProfileExchangeDTO> getHighProfileExchange(List<Exchange> exchanges) {
-    double buy = exchanges.stream().mapToDouble(Exchange::getBuy).min().orElse(0);
-    double sell = exchanges.stream().mapToDouble(Exchange::getSell).min().orElse(0);
-    return getProfileExchangeDTO(buy, sell);
+  private ProfileExchangeDTO toProfileExchangeDTO(double buy, double sell) {
+    return new ProfileExchangeDTO(getValueRound(buy), getValueRound(sell));
   }
 
-  private Mono<ProfileExchangeDTO> getProfileExchangeDTO(double buy, double sell) {
-    ProfileExchangeDTO profileExchangeDTO = new ProfileExchangeDTO(getValueRound(buy), getValueRound(sell));
-    return Mono.just(profileExchangeDTO);
+  private CandleDTO toCandleDTO(Candle candle) {
+    return new CandleDTO(candle.start(), candle.count(),
+        new OhlcDTO(candle.buyOpen(), candle.buyHigh(), candle.buyLow(), candle.buyClose()),
+        new OhlcDTO(candle.sellOpen(), candle.sellHigh(), candle.sellLow(), candle.sellClose()));
   }
 
-  private Double getValueRound(Double value) {
+  static Double getValueRound(Double value) {
     BigDecimal result = new BigDecimal(value).setScale(2, RoundingMode.HALF_UP);
     return result.doubleValue();
   }
@@ -0,0 +1,49 @@
+package com.gpc.exchange.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gpc.exchange.dto.ProfileExchangeDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size-bounded cache of profile responses by {@code (pair, profile, date)}. Hits, misses and evictions
+ * are published as the {@code cache.*} metrics tagged {@code cache=profiles}.
+ */
+@Component
+public class ProfileCache {
+
+  private static final List<String> PROFILES = List.of("LOW", "MEDIUM", "HIGH", "MEDIAN", "P90", "P99");
+
+  private final Cache<ProfileKey, ProfileExchangeDTO> cache;
+
+  public ProfileCache(MeterRegistry registry,
+                      @Value("${exchange.profile-cache.maximum-size:10000}") long maximumSize) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, cache, "profiles");
+  }
+
+  /**
+   * The cached profile, or the one {@code loader} computes on a miss. A {@code null} from the
+   * loader is returned as is and not cached. Loading and {@link #invalidate} on the same key are
+   * serialized, so a load racing with a write cannot leave a stale entry behind.
+   */
+  public ProfileExchangeDTO get(String pair, String profile, LocalDate date, Supplier<ProfileExchangeDTO> loader) {
+    return cache.get(new ProfileKey(pair, profile, date), key -> loader.get());
+  }
+
+  public void invalidate(String pair, LocalDate date) {
+    PROFILES.forEach(profile -> cache.invalidate(new ProfileKey(pair, profile, date)));
+  }
+
+  private record ProfileKey(String pair, String profile, LocalDate date) {
+  }
+}
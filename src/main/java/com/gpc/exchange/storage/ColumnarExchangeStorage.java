@@ -0,0 +1,194 @@
+package com.gpc.exchange.storage;
+
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.aggregate.ExchangeAccumulator;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.repository.ExchangeCursor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory engine that keeps quotes in day partitions of primitive columns instead of boxed
+ * rows. It is append-only: ids always come from its own sequence, and times are kept with
+ * millisecond precision, the finest the date deserializer accepts.
+ */
+@Component
+@ConditionalOnProperty(name = "exchange.storage.engine", havingValue = "columnar")
+public class ColumnarExchangeStorage implements ExchangeStorage {
+
+  private static final long MILLIS_PER_DAY = 86_400_000L;
+
+  private final NavigableMap<LocalDate, DayPartition> days = new ConcurrentSkipListMap<>();
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  @Override
+  public Mono<Void> initialize() {
+    return Mono.empty();
+  }
+
+  @Override
+  public Flux<Exchange> findAll() {
+    return findPage(null, null, null, null, null);
+  }
+
+  @Override
+  public Mono<Exchange> save(Exchange exchange) {
+    return Mono.fromSupplier(() -> store(List.of(exchange)).get(0));
+  }
+
+  @Override
+  public Flux<Exchange> insertAll(List<Exchange> exchanges) {
+    return Flux.defer(() -> Flux.fromIterable(store(exchanges)));
+  }
+
+  @Override
+  public Mono<Void> insertAllWithIds(List<Exchange> exchanges) {
+    return Mono.fromRunnable(() -> storeWithIds(exchanges));
+  }
+
+  @Override
+  public Mono<Long> findLastId() {
+    return Mono.fromSupplier(sequence::get);
+  }
+
+  @Override
+  public Flux<Exchange> findPage(String pair, ExchangeCursor after, LocalDateTime from, LocalDateTime to,
+                                 Integer limit) {
+    return Flux.defer(() -> {
+      long pairCode = PairCode.encodeFilter(pair);
+      long fromMillis = from != null ? toMillis(from) : Long.MIN_VALUE;
+      long afterId = Long.MIN_VALUE;
+      if (after != null && toMillis(after.dateTime()) >= fromMillis) {
+        fromMillis = toMillis(after.dateTime());
+        afterId = after.id();
+      }
+      long startMillis = fromMillis;
+      long startAfterId = afterId;
+      long toMillis = to != null ? toMillis(to) : Long.MAX_VALUE;
+      int max = limit != null ? limit : Integer.MAX_VALUE;
+
+      Flux<Exchange> rows = Flux.fromIterable(partitions(startMillis, toMillis))
+          .concatMapIterable(partition -> partition.slice(pairCode, startMillis, startAfterId, toMillis, max));
+      return limit != null ? rows.take(limit, true) : rows;
+    });
+  }
+
+  @Override
+  public Mono<DailyAggregate> aggregateByDateTimeRange(String pair, LocalDateTime start, LocalDateTime end) {
+    return Mono.fromSupplier(() -> {
+      long pairCode = PairCode.encode(pair);
+      long startMillis = toMillis(start);
+      long endMillis = toMillis(end);
+      ExchangeAccumulator accumulator = new ExchangeAccumulator();
+      partitions(startMillis, endMillis)
+          .forEach(partition -> partition.aggregate(pairCode, startMillis, endMillis, accumulator));
+      return accumulator.toAggregate();
+    });
+  }
+
+  @Override
+  public Mono<Void> deleteAll() {
+    return Mono.fromRunnable(days::clear);
+  }
+
+  List<Exchange> store(List<Exchange> exchanges) {
+    List<Exchange> stored = assignIds(exchanges);
+    stored.forEach(this::add);
+    return stored;
+  }
+
+  void storeWithIds(List<Exchange> exchanges) {
+    exchanges.forEach(this::add);
+  }
+
+  /**
+   * Numbers the quotes from the sequence and truncates their time to what the columns keep,
+   * without making them visible yet.
+   */
+  List<Exchange> assignIds(List<Exchange> exchanges) {
+    List<Exchange> stored = new ArrayList<>(exchanges.size());
+    for (Exchange exchange : exchanges) {
+      stored.add(new Exchange(sequence.incrementAndGet(), exchange.getPair(), exchange.getBuy(), exchange.getSell(),
+          toDateTime(toMillis(exchange.getDateTime()))));
+    }
+    return stored;
+  }
+
+  void add(Exchange exchange) {
+    restore(exchange.getId(), toMillis(exchange.getDateTime()), PairCode.encode(exchange.getPair()),
+        exchange.getBuy(), exchange.getSell());
+  }
+
+  /**
+   * Adds a quote that already has an id, keeping the sequence ahead of it.
+   */
+  void restore(long id, long millis, long pair, double buy, double sell) {
+    sequence.accumulateAndGet(id, Math::max);
+    partition(Math.floorDiv(millis, MILLIS_PER_DAY)).add(id, millis, pair, buy, sell);
+  }
+
+  /**
+   * Single-threaded bulk variant of {@link #restore} for replay. It keeps the previous quote's
+   * partition at hand, which saves the map lookup when quotes come in time order.
+   */
+  QuoteLog.RecordConsumer restorer() {
+    return new QuoteLog.RecordConsumer() {
+
+      private long epochDay = Long.MIN_VALUE;
+
+      private DayPartition partition;
+
+      @Override
+      public void accept(long id, long epochMillis, long pair, double buy, double sell) {
+        long day = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        if (day != epochDay) {
+          partition = partition(day);
+          epochDay = day;
+        }
+        if (id > sequence.get()) {
+          sequence.set(id);
+        }
+        partition.add(id, epochMillis, pair, buy, sell);
+      }
+    };
+  }
+
+  private DayPartition partition(long epochDay) {
+    return days.computeIfAbsent(LocalDate.ofEpochDay(epochDay), date -> new DayPartition());
+  }
+
+  private Collection<DayPartition> partitions(long fromMillis, long toMillis) {
+    if (fromMillis >= toMillis) {
+      return List.of();
+    }
+    NavigableMap<LocalDate, DayPartition> range = days;
+    if (fromMillis != Long.MIN_VALUE) {
+      range = range.tailMap(toDateTime(fromMillis).toLocalDate(), true);
+    }
+    if (toMillis != Long.MAX_VALUE) {
+      range = range.headMap(toDateTime(toMillis).toLocalDate(), true);
+    }
+    return range.values();
+  }
+
+  static long toMillis(LocalDateTime dateTime) {
+    return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+
+  static LocalDateTime toDateTime(long millis) {
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1_000), (int) Math.floorMod(millis, 1_000) * 1_000_000,
+        ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,149 @@
+package com.gpc.exchange.storage;
+
+import com.gpc.exchange.aggregate.ExchangeAccumulator;
+import com.gpc.exchange.model.Exchange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One day of quotes held as parallel primitive columns sorted by {@code (epochMillis, id)}.
+ * Late quotes are inserted in place, so the columns stay sorted for binary search. Pairs share
+ * the partition and are told apart by their {@link PairCode}.
+ */
+final class DayPartition {
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private long[] ids = new long[INITIAL_CAPACITY];
+
+  private long[] epochMillis = new long[INITIAL_CAPACITY];
+
+  private long[] pairs = new long[INITIAL_CAPACITY];
+
+  private double[] buys = new double[INITIAL_CAPACITY];
+
+  private double[] sells = new double[INITIAL_CAPACITY];
+
+  private int size;
+
+  void add(long id, long millis, long pair, double buy, double sell) {
+    lock.writeLock().lock();
+    try {
+      if (size == ids.length) {
+        int capacity = size * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        epochMillis = Arrays.copyOf(epochMillis, capacity);
+        pairs = Arrays.copyOf(pairs, capacity);
+        buys = Arrays.copyOf(buys, capacity);
+        sells = Arrays.copyOf(sells, capacity);
+      }
+      int index = size == 0 || isBefore(size - 1, millis, id) ? size : upperBound(millis, id);
+      if (index < size) {
+        int moved = size - index;
+        System.arraycopy(ids, index, ids, index + 1, moved);
+        System.arraycopy(epochMillis, index, epochMillis, index + 1, moved);
+        System.arraycopy(pairs, index, pairs, index + 1, moved);
+        System.arraycopy(buys, index, buys, index + 1, moved);
+        System.arraycopy(sells, index, sells, index + 1, moved);
+      }
+      ids[index] = id;
+      epochMillis[index] = millis;
+      pairs[index] = pair;
+      buys[index] = buy;
+      sells[index] = sell;
+      size++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Rows of {@code pair} ({@link PairCode#ANY} for every pair) after {@code (fromMillis, afterId)}
+   * and before {@code toMillis}, at most {@code max}.
+   */
+  List<Exchange> slice(long pair, long fromMillis, long afterId, long toMillis, int max) {
+    lock.readLock().lock();
+    try {
+      int from = lowerBound(fromMillis);
+      while (from < size && epochMillis[from] == fromMillis && ids[from] <= afterId) {
+        from++;
+      }
+      int to = lowerBound(toMillis);
+      List<Exchange> rows = new ArrayList<>(Math.min(Math.max(to - from, 0), max));
+      long decodedCode = PairCode.ANY;
+      String decoded = null;
+      for (int i = from; i < to && rows.size() < max; i++) {
+        if (pair != PairCode.ANY && pairs[i] != pair) {
+          continue;
+        }
+        if (pairs[i] != decodedCode) {
+          decodedCode = pairs[i];
+          decoded = PairCode.decode(decodedCode);
+        }
+        rows.add(new Exchange(ids[i], decoded, buys[i], sells[i],
+            ColumnarExchangeStorage.toDateTime(epochMillis[i])));
+      }
+      return rows;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  void aggregate(long pair, long fromMillis, long toMillis, ExchangeAccumulator accumulator) {
+    lock.readLock().lock();
+    try {
+      int to = lowerBound(toMillis);
+      for (int i = lowerBound(fromMillis); i < to; i++) {
+        if (pairs[i] == pair) {
+          accumulator.accept(buys[i], sells[i]);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * First index after every row ordered before {@code (millis, id)}. Concurrent writers can add
+   * the same millisecond out of id order, which would break the keyset skip in {@link #slice}.
+   */
+  private int upperBound(long millis, long id) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (isBefore(mid, millis, id)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private boolean isBefore(int index, long millis, long id) {
+    return epochMillis[index] < millis || epochMillis[index] == millis && ids[index] < id;
+  }
+
+  /**
+   * First index whose time is not before {@code millis}.
+   */
+  private int lowerBound(long millis) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (epochMillis[mid] < millis) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
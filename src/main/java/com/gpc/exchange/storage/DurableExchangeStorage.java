@@ -0,0 +1,143 @@
+package com.gpc.exchange.storage;
+
+import com.gpc.exchange.model.Exchange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Columnar engine whose writes are first appended to a {@link QuoteLog}. On startup the columns
+ * are rebuilt by replaying the log, so quotes survive restarts.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "exchange.storage.engine", havingValue = "durable")
+public class DurableExchangeStorage extends ColumnarExchangeStorage {
+
+  private final QuoteLog quoteLog;
+
+  private final FsyncPolicy fsyncPolicy;
+
+  private final Duration fsyncInterval;
+
+  private final Counter syncFailures;
+
+  private Disposable periodicSync;
+
+  public DurableExchangeStorage(MeterRegistry registry,
+                                @Value("${exchange.storage.log.directory:data/quotes}") Path directory,
+                                @Value("${exchange.storage.log.segment-size:64MB}") DataSize segmentSize,
+                                @Value("${exchange.storage.log.fsync:INTERVAL}") FsyncPolicy fsyncPolicy,
+                                @Value("${exchange.storage.log.fsync-interval:1s}") Duration fsyncInterval) {
+    this.quoteLog = new QuoteLog(directory, segmentSize.toBytes(), fsyncPolicy);
+    this.fsyncPolicy = fsyncPolicy;
+    this.fsyncInterval = fsyncInterval;
+    this.syncFailures = Counter.builder("exchange.storage.log.sync.failures")
+        .description("Sincronizaciones periódicas del registro de posturas que fallaron")
+        .register(registry);
+  }
+
+  @Override
+  public Mono<Void> initialize() {
+    return Mono.fromCallable(() -> {
+          long start = System.nanoTime();
+          long replayed = quoteLog.open(restorer());
+          log.info("Replayed {} quotes from the quote log in {} ms", replayed, (System.nanoTime() - start) / 1_000_000);
+          if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            periodicSync = Flux.interval(fsyncInterval, fsyncInterval, Schedulers.boundedElastic())
+                .subscribe(tick -> syncPeriodically());
+          }
+          return replayed;
+        })
+        .then();
+  }
+
+  @Override
+  public boolean isDurable() {
+    return true;
+  }
+
+  @Override
+  public Mono<Exchange> save(Exchange exchange) {
+    return onWriteScheduler(super.save(exchange));
+  }
+
+  @Override
+  public Flux<Exchange> insertAll(List<Exchange> exchanges) {
+    return onWriteScheduler(super.insertAll(exchanges).collectList()).flatMapIterable(stored -> stored);
+  }
+
+  @Override
+  public Mono<Void> insertAllWithIds(List<Exchange> exchanges) {
+    return onWriteScheduler(super.insertAllWithIds(exchanges));
+  }
+
+  @Override
+  public Mono<Void> deleteAll() {
+    return Mono.fromCallable(() -> {
+          quoteLog.clear();
+          return true;
+        })
+        .then(super.deleteAll());
+  }
+
+  @Override
+  synchronized List<Exchange> store(List<Exchange> exchanges) {
+    List<Exchange> stored = assignIds(exchanges);
+    quoteLog.append(stored);
+    stored.forEach(this::add);
+    return stored;
+  }
+
+  @Override
+  synchronized void storeWithIds(List<Exchange> exchanges) {
+    quoteLog.append(exchanges);
+    super.storeWithIds(exchanges);
+  }
+
+  @PreDestroy
+  public void close() {
+    if (periodicSync != null) {
+      periodicSync.dispose();
+    }
+    try {
+      quoteLog.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * One {@link FsyncPolicy#INTERVAL} tick. A failure is logged and counted instead of ending the
+   * interval, and its records are retried on the next tick.
+   */
+  void syncPeriodically() {
+    try {
+      quoteLog.sync();
+    } catch (UncheckedIOException e) {
+      syncFailures.increment();
+      log.error("Could not sync the quote log", e);
+    }
+  }
+
+  /**
+   * With {@link FsyncPolicy#ALWAYS} every write waits for the disk, so it moves off the event loop.
+   */
+  private <T> Mono<T> onWriteScheduler(Mono<T> write) {
+    return fsyncPolicy == FsyncPolicy.ALWAYS ? write.subscribeOn(Schedulers.boundedElastic()) : write;
+  }
+}
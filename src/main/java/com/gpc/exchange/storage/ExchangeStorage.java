@@ -0,0 +1,69 @@
+package com.gpc.exchange.storage;
+
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.repository.ExchangeCursor;
+import java.time.LocalDateTime;
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Storage engine behind the exchange service, selected with {@code exchange.storage.engine}.
+ */
+public interface ExchangeStorage {
+
+  /**
+   * Prepares the engine (schema, indexes) before the first write.
+   */
+  Mono<Void> initialize();
+
+  /**
+   * Whether quotes survive a restart, in which case startup must not wipe them.
+   */
+  default boolean isDurable() {
+    return false;
+  }
+
+  Flux<Exchange> findAll();
+
+  Mono<Exchange> save(Exchange exchange);
+
+  /**
+   * Stores the quotes in one round trip and returns them, in order, with their generated ids.
+   */
+  Flux<Exchange> insertAll(List<Exchange> exchanges);
+
+  /**
+   * Stores quotes that were already numbered by the caller, keeping their ids.
+   */
+  Mono<Void> insertAllWithIds(List<Exchange> exchanges);
+
+  /**
+   * Makes the ids generated from now on continue after {@code lastId}, once a caller has finished
+   * numbering quotes itself. Engines whose sequence already follows the stored ids do nothing.
+   */
+  default Mono<Void> restartIdsAfter(long lastId) {
+    return Mono.empty();
+  }
+
+  /**
+   * Highest id stored so far, or 0 when nothing has been stored; callers that number quotes
+   * themselves continue from it.
+   */
+  Mono<Long> findLastId();
+
+  /**
+   * Quotes of {@code pair} ordered by {@code (dateTime, id)}, strictly after {@code after} and
+   * within {@code [from, to)}. Every argument is optional; a {@code null} pair matches every pair
+   * and a {@code null} limit streams to the end.
+   */
+  Flux<Exchange> findPage(String pair, ExchangeCursor after, LocalDateTime from, LocalDateTime to, Integer limit);
+
+  /**
+   * Count, sums, minimums and maximums of the quotes of {@code pair} within {@code [start, end)}.
+   */
+  Mono<DailyAggregate> aggregateByDateTimeRange(String pair, LocalDateTime start, LocalDateTime end);
+
+  Mono<Void> deleteAll();
+}
@@ -0,0 +1,13 @@
+package com.gpc.exchange.storage;
+
+public enum FsyncPolicy {
+
+  /** Forces every append to disk before it is acknowledged. */
+  ALWAYS,
+
+  /** Forces pending appends on a fixed interval; a crash loses at most that window. */
+  INTERVAL,
+
+  /** Leaves write-back to the operating system and forces only on shutdown. */
+  NEVER
+}
@@ -0,0 +1,47 @@
+package com.gpc.exchange.storage;
+
+/**
+ * Packs a currency pair of up to eight ASCII characters into a {@code long}, so the columns and
+ * the quote log keep it as a primitive. No pair packs to {@link #ANY}.
+ */
+final class PairCode {
+
+  static final long ANY = 0;
+
+  private PairCode() {
+  }
+
+  static long encode(String pair) {
+    if (pair.isEmpty() || pair.length() > Long.BYTES) {
+      throw new IllegalArgumentException("Invalid pair " + pair);
+    }
+    long code = 0;
+    for (int i = 0; i < pair.length(); i++) {
+      char c = pair.charAt(i);
+      if (c == 0 || c > 0x7f) {
+        throw new IllegalArgumentException("Invalid pair " + pair);
+      }
+      code = code << 8 | c;
+    }
+    return code;
+  }
+
+  static String decode(long code) {
+    char[] chars = new char[Long.BYTES];
+    int length = 0;
+    for (int shift = Long.SIZE - 8; shift >= 0; shift -= 8) {
+      char c = (char) (code >>> shift & 0xff);
+      if (c != 0) {
+        chars[length++] = c;
+      }
+    }
+    return new String(chars, 0, length);
+  }
+
+  /**
+   * {@link #ANY} when {@code pair} is {@code null}, so a filter on it matches every pair.
+   */
+  static long encodeFilter(String pair) {
+    return pair == null ? ANY : encode(pair);
+  }
+}
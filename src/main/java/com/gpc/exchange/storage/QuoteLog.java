@@ -0,0 +1,264 @@
+package com.gpc.exchange.storage;
+
+import com.gpc.exchange.model.Exchange;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only quote log split into fixed-size memory-mapped segments. Each record holds
+ * {@code id, epochMillis, pair, buy, sell} followed by the CRC32C of those 40 bytes, the pair as
+ * its {@link PairCode}. Ids grow strictly, so replay stops at the first zeroed, corrupt or
+ * out-of-order record and drops everything after it: the rest of that segment is zeroed and later
+ * segments are deleted.
+ */
+public class QuoteLog implements Closeable {
+
+  static final int RECORD_SIZE = 44;
+
+  private static final int PAYLOAD_SIZE = 40;
+
+  private static final String SEGMENT_PREFIX = "quotes-";
+
+  private static final String SEGMENT_SUFFIX = ".log";
+
+  private final Path directory;
+
+  private final int segmentBytes;
+
+  private final FsyncPolicy fsyncPolicy;
+
+  private final byte[] scratch = new byte[PAYLOAD_SIZE];
+
+  private final ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+
+  private final CRC32C crc = new CRC32C();
+
+  private long segmentNumber;
+
+  private FileChannel channel;
+
+  private MappedByteBuffer segment;
+
+  private int position;
+
+  private int dirtyFrom = -1;
+
+  private long lastId;
+
+  @FunctionalInterface
+  public interface RecordConsumer {
+
+    void accept(long id, long epochMillis, long pair, double buy, double sell);
+  }
+
+  public QuoteLog(Path directory, long segmentSize, FsyncPolicy fsyncPolicy) {
+    this.directory = directory;
+    this.segmentBytes = (int) Math.min(segmentSize / RECORD_SIZE, Integer.MAX_VALUE / RECORD_SIZE) * RECORD_SIZE;
+    this.fsyncPolicy = fsyncPolicy;
+    if (segmentBytes == 0) {
+      throw new IllegalArgumentException("Segment size must hold at least one record");
+    }
+  }
+
+  /**
+   * Replays every valid record in order and leaves the log ready to append after the last one.
+   *
+   * @return the number of records replayed
+   */
+  public synchronized long open(RecordConsumer consumer) throws IOException {
+    Files.createDirectories(directory);
+    List<Path> segments = listSegments();
+    long count = 0;
+    boolean tailFound = false;
+    for (Path path : segments) {
+      if (tailFound) {
+        Files.delete(path);
+        continue;
+      }
+      closeSegment();
+      map(path, segmentNumber(path));
+      count += replaySegment(consumer);
+      if (position + RECORD_SIZE <= segment.capacity()) {
+        tailFound = true;
+        zeroTail();
+      }
+    }
+    if (segment == null) {
+      map(segmentPath(0), 0);
+    } else if (position + RECORD_SIZE > segment.capacity()) {
+      roll();
+    }
+    return count;
+  }
+
+  public synchronized void append(List<Exchange> exchanges) {
+    for (Exchange exchange : exchanges) {
+      if (position + RECORD_SIZE > segment.capacity()) {
+        roll();
+      }
+      long id = exchange.getId();
+      scratchBuffer.putLong(0, id)
+          .putLong(8, ColumnarExchangeStorage.toMillis(exchange.getDateTime()))
+          .putLong(16, PairCode.encode(exchange.getPair()))
+          .putDouble(24, exchange.getBuy())
+          .putDouble(32, exchange.getSell());
+      crc.reset();
+      crc.update(scratch, 0, PAYLOAD_SIZE);
+      segment.put(position, scratch);
+      segment.putInt(position + PAYLOAD_SIZE, (int) crc.getValue());
+      if (dirtyFrom < 0) {
+        dirtyFrom = position;
+      }
+      position += RECORD_SIZE;
+      lastId = id;
+    }
+    if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+      sync();
+    }
+  }
+
+  /**
+   * Forces the records appended since the last sync to disk. Only picking the range takes the
+   * lock; the flush runs outside it, so appends are not held up by the disk. A failed flush marks
+   * its range dirty again for the next sync.
+   */
+  public void sync() {
+    MappedByteBuffer dirty;
+    int from;
+    int length;
+    synchronized (this) {
+      if (dirtyFrom < 0) {
+        return;
+      }
+      dirty = segment;
+      from = dirtyFrom;
+      length = position - dirtyFrom;
+      dirtyFrom = -1;
+    }
+    try {
+      dirty.force(from, length);
+    } catch (UncheckedIOException e) {
+      synchronized (this) {
+        if (segment == dirty) {
+          dirtyFrom = dirtyFrom < 0 ? from : Math.min(dirtyFrom, from);
+        }
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Deletes every segment and starts over with an empty one.
+   */
+  public synchronized void clear() throws IOException {
+    closeSegment();
+    for (Path path : listSegments()) {
+      Files.delete(path);
+    }
+    map(segmentPath(0), 0);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    sync();
+    closeSegment();
+  }
+
+  private int replaySegment(RecordConsumer consumer) {
+    int count = 0;
+    int limit = segment.capacity() - RECORD_SIZE;
+    position = 0;
+    while (position <= limit) {
+      long id = segment.getLong(position);
+      if (id <= lastId) {
+        break;
+      }
+      segment.get(position, scratch);
+      crc.reset();
+      crc.update(scratch, 0, PAYLOAD_SIZE);
+      if ((int) crc.getValue() != segment.getInt(position + PAYLOAD_SIZE)) {
+        break;
+      }
+      consumer.accept(id, segment.getLong(position + 8), segment.getLong(position + 16),
+          segment.getDouble(position + 24), segment.getDouble(position + 32));
+      lastId = id;
+      position += RECORD_SIZE;
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Clears whatever follows the last valid record, so a torn write cannot resurface later.
+   */
+  private void zeroTail() {
+    boolean dirty = false;
+    for (int offset = position; offset < segment.capacity() && !dirty; offset += Integer.BYTES) {
+      dirty = segment.getInt(offset) != 0;
+    }
+    if (!dirty) {
+      return;
+    }
+    byte[] zeros = new byte[Math.min(64 * 1024, segment.capacity() - position)];
+    for (int offset = position; offset < segment.capacity(); offset += zeros.length) {
+      segment.put(offset, zeros, 0, Math.min(zeros.length, segment.capacity() - offset));
+    }
+    segment.force();
+  }
+
+  private void roll() {
+    try {
+      sync();
+      closeSegment();
+      map(segmentPath(segmentNumber + 1), segmentNumber + 1);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void map(Path path, long number) throws IOException {
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    long size = channel.size() >= RECORD_SIZE ? channel.size() - channel.size() % RECORD_SIZE : segmentBytes;
+    segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    segmentNumber = number;
+    position = 0;
+    dirtyFrom = -1;
+  }
+
+  private void closeSegment() throws IOException {
+    if (channel != null) {
+      channel.close();
+      channel = null;
+    }
+  }
+
+  private List<Path> listSegments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(path -> {
+            String name = path.getFileName().toString();
+            return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+          })
+          .sorted()
+          .toList();
+    }
+  }
+
+  private Path segmentPath(long number) {
+    return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+  }
+
+  private static long segmentNumber(Path path) {
+    String name = path.getFileName().toString();
+    return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+}
@@ -0,0 +1,93 @@
+package com.gpc.exchange.storage;
+
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.repository.ExchangeCursor;
+import com.gpc.exchange.repository.ExchangeRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnProperty(name = "exchange.storage.engine", havingValue = "r2dbc", matchIfMissing = true)
+@RequiredArgsConstructor
+public class R2dbcExchangeStorage implements ExchangeStorage {
+
+  private final ExchangeRepository repository;
+
+  private final DatabaseClient databaseClient;
+
+  @Override
+  public Mono<Void> initialize() {
+    String createTableSql = """
+        CREATE TABLE IF NOT EXISTS exchange (
+            id BIGINT AUTO_INCREMENT PRIMARY KEY,
+            pair VARCHAR(6) NOT NULL,
+            buy DOUBLE NOT NULL,
+            sell DOUBLE NOT NULL,
+            date_time TIMESTAMP NOT NULL
+        )
+        """;
+    String createIndexSql = "CREATE INDEX IF NOT EXISTS idx_exchange_date_time ON exchange (date_time, id)";
+    String createPairIndexSql =
+        "CREATE INDEX IF NOT EXISTS idx_exchange_pair_date_time ON exchange (pair, date_time, id)";
+    return databaseClient.sql(createTableSql).then()
+        .then(databaseClient.sql(createIndexSql).then())
+        .then(databaseClient.sql(createPairIndexSql).then());
+  }
+
+  @Override
+  public Flux<Exchange> findAll() {
+    return repository.findAll();
+  }
+
+  @Override
+  public Mono<Exchange> save(Exchange exchange) {
+    return repository.save(exchange);
+  }
+
+  @Override
+  public Flux<Exchange> insertAll(List<Exchange> exchanges) {
+    return repository.insertAll(exchanges);
+  }
+
+  @Override
+  public Mono<Void> insertAllWithIds(List<Exchange> exchanges) {
+    return repository.insertAllWithIds(exchanges);
+  }
+
+  /**
+   * H2 does not move the identity past explicitly inserted ids, so it is restarted after the
+   * highest one; otherwise the next {@link #save} would collide with them.
+   */
+  @Override
+  public Mono<Void> restartIdsAfter(long lastId) {
+    return databaseClient.sql("ALTER TABLE exchange ALTER COLUMN id RESTART WITH " + (lastId + 1)).then();
+  }
+
+  @Override
+  public Mono<Long> findLastId() {
+    return repository.findLastId();
+  }
+
+  @Override
+  public Flux<Exchange> findPage(String pair, ExchangeCursor after, LocalDateTime from, LocalDateTime to,
+                                 Integer limit) {
+    return repository.findPage(pair, after, from, to, limit);
+  }
+
+  @Override
+  public Mono<DailyAggregate> aggregateByDateTimeRange(String pair, LocalDateTime start, LocalDateTime end) {
+    return repository.aggregateByDateTimeRange(pair, start, end);
+  }
+
+  @Override
+  public Mono<Void> deleteAll() {
+    return repository.deleteAll();
+  }
+}
@@ -0,0 +1,302 @@
+package com.gpc.exchange.storage;
+
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.repository.ExchangeCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Decorator over the configured engine that acknowledges a write as soon as the quote is numbered
+ * and queued, and persists queued quotes in micro-batches of at most {@code max-batch-size}
+ * quotes, no later than {@code max-delay} after the first of them was queued.
+ *
+ * <p>Acknowledged quotes that are still queued are lost if the process dies; the
+ * {@code exchange.write_behind.pending} gauge is that exposure. A failed batch is retried
+ * {@code max-retries} times with exponential backoff from {@code retry-backoff}; only then is it
+ * dropped, counted in {@code exchange.write_behind.lost} and reported by
+ * {@link WriteBehindHealthIndicator}, since the in-memory rollups now hold quotes that storage does
+ * not. Reads and deletes wait until everything acknowledged before them is flushed or dropped, and
+ * shutdown flushes the queue.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "exchange.storage.write-behind.enabled", havingValue = "true")
+public class WriteBehindExchangeStorage implements ExchangeStorage {
+
+  private static final String METRIC_NAME = "exchange.write_behind";
+
+  private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(5);
+
+  private final ExchangeStorage delegate;
+
+  private final Duration shutdownTimeout;
+
+  private final Sinks.Many<Queued> queue = Sinks.many().unicast().onBackpressureBuffer();
+
+  private final Sinks.Many<Long> settled = Sinks.many().replay().latest();
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final AtomicLong flushedId = new AtomicLong();
+
+  private final AtomicLong settledId = new AtomicLong();
+
+  private final Mono<Void> drained;
+
+  private final Timer flushTimer;
+
+  private final Timer lagTimer;
+
+  private final DistributionSummary batchSizes;
+
+  private final Counter lost;
+
+  private final Counter retries;
+
+  private final int maxRetries;
+
+  private final Duration retryBackoff;
+
+  private volatile LostBatch lastLost;
+
+  private boolean closed;
+
+  public WriteBehindExchangeStorage(ExchangeStorage delegate, MeterRegistry registry,
+                                    @Value("${exchange.storage.write-behind.max-batch-size:500}") int maxBatchSize,
+                                    @Value("${exchange.storage.write-behind.max-delay:20ms}") Duration maxDelay,
+                                    @Value("${exchange.storage.write-behind.shutdown-timeout:10s}") Duration shutdownTimeout,
+                                    @Value("${exchange.storage.write-behind.max-retries:5}") int maxRetries,
+                                    @Value("${exchange.storage.write-behind.retry-backoff:100ms}") Duration retryBackoff) {
+    this.delegate = delegate;
+    this.shutdownTimeout = shutdownTimeout;
+    this.maxRetries = maxRetries;
+    this.retryBackoff = retryBackoff;
+    this.flushTimer = Timer.builder(METRIC_NAME + ".flush")
+        .description("Duración de cada lote escrito en el motor de almacenamiento")
+        .publishPercentiles(0.5, 0.9, 0.99)
+        .register(registry);
+    this.lagTimer = Timer.builder(METRIC_NAME + ".lag")
+        .description("Tiempo entre la confirmación de la postura más antigua de un lote y su escritura")
+        .publishPercentiles(0.5, 0.9, 0.99)
+        .register(registry);
+    this.batchSizes = DistributionSummary.builder(METRIC_NAME + ".batch.size")
+        .description("Posturas por lote escrito")
+        .register(registry);
+    this.lost = Counter.builder(METRIC_NAME + ".lost")
+        .description("Posturas confirmadas que se descartaron tras agotar los reintentos")
+        .register(registry);
+    this.retries = Counter.builder(METRIC_NAME + ".retries")
+        .description("Reintentos de lotes cuya escritura falló")
+        .register(registry);
+    Gauge.builder(METRIC_NAME + ".pending", this, WriteBehindExchangeStorage::pending)
+        .description("Posturas confirmadas que aún no están escritas")
+        .register(registry);
+    this.drained = queue.asFlux()
+        .bufferTimeout(maxBatchSize, maxDelay, true)
+        .concatMap(this::flush)
+        .then()
+        .cache();
+    this.drained.subscribe();
+  }
+
+  @Override
+  public Mono<Void> initialize() {
+    return delegate.initialize()
+        .then(delegate.findLastId())
+        .doOnNext(lastId -> {
+          sequence.set(lastId);
+          markFlushed(lastId);
+        })
+        .then();
+  }
+
+  @Override
+  public boolean isDurable() {
+    return delegate.isDurable();
+  }
+
+  @Override
+  public Flux<Exchange> findAll() {
+    return awaitFlushed().thenMany(delegate.findAll());
+  }
+
+  @Override
+  public Mono<Exchange> save(Exchange exchange) {
+    return Mono.fromSupplier(() -> enqueue(List.of(exchange)).get(0));
+  }
+
+  @Override
+  public Flux<Exchange> insertAll(List<Exchange> exchanges) {
+    return Flux.defer(() -> Flux.fromIterable(enqueue(exchanges)));
+  }
+
+  @Override
+  public Mono<Void> insertAllWithIds(List<Exchange> exchanges) {
+    return awaitFlushed().then(delegate.insertAllWithIds(exchanges))
+        .doOnSuccess(done -> exchanges.forEach(exchange -> advancePast(exchange.getId())));
+  }
+
+  @Override
+  public Mono<Void> restartIdsAfter(long lastId) {
+    return awaitFlushed().then(delegate.restartIdsAfter(lastId))
+        .doOnSuccess(done -> advancePast(lastId));
+  }
+
+  @Override
+  public Mono<Long> findLastId() {
+    return Mono.fromSupplier(sequence::get);
+  }
+
+  @Override
+  public Flux<Exchange> findPage(String pair, ExchangeCursor after, LocalDateTime from, LocalDateTime to,
+                                 Integer limit) {
+    return awaitFlushed().thenMany(delegate.findPage(pair, after, from, to, limit));
+  }
+
+  @Override
+  public Mono<DailyAggregate> aggregateByDateTimeRange(String pair, LocalDateTime start, LocalDateTime end) {
+    return awaitFlushed().then(delegate.aggregateByDateTimeRange(pair, start, end));
+  }
+
+  @Override
+  public Mono<Void> deleteAll() {
+    return awaitFlushed().then(delegate.deleteAll());
+  }
+
+  @PreDestroy
+  public void close() {
+    synchronized (this) {
+      closed = true;
+      queue.tryEmitComplete();
+    }
+    long pending = pending();
+    drained.block(shutdownTimeout);
+    log.info("Flushed {} write-behind quotes on shutdown", pending);
+  }
+
+  /**
+   * Numbers the quotes and queues them in id order, which is the order they are flushed in.
+   */
+  private synchronized List<Exchange> enqueue(List<Exchange> exchanges) {
+    if (closed) {
+      throw new IllegalStateException("Write-behind queue is closed");
+    }
+    long queuedAt = System.nanoTime();
+    List<Exchange> numbered = new ArrayList<>(exchanges.size());
+    for (Exchange exchange : exchanges) {
+      Exchange queued = new Exchange(sequence.incrementAndGet(), exchange.getPair(), exchange.getBuy(),
+          exchange.getSell(), exchange.getDateTime());
+      queue.tryEmitNext(new Queued(queued, queuedAt));
+      numbered.add(queued);
+    }
+    return numbered;
+  }
+
+  /**
+   * Acknowledged quotes that are neither written nor dropped yet.
+   */
+  long pending() {
+    return sequence.get() - settledId.get();
+  }
+
+  /**
+   * The last batch dropped after exhausting its retries, or {@code null} if none was.
+   */
+  LostBatch getLastLost() {
+    return lastLost;
+  }
+
+  long getFlushedId() {
+    return flushedId.get();
+  }
+
+  private Mono<Void> flush(List<Queued> batch) {
+    List<Exchange> exchanges = new ArrayList<>(batch.size());
+    batch.forEach(queued -> exchanges.add(queued.exchange()));
+    long lastId = exchanges.get(exchanges.size() - 1).getId();
+    long start = System.nanoTime();
+    return Mono.defer(() -> delegate.insertAllWithIds(exchanges))
+        .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+            .maxBackoff(MAX_RETRY_BACKOFF)
+            .doBeforeRetry(signal -> {
+              retries.increment();
+              log.warn("Retrying the write of {} quotes up to id {} ({})", batch.size(), lastId,
+                  signal.failure().toString());
+            })
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+        .doOnSuccess(done -> {
+          long end = System.nanoTime();
+          flushTimer.record(end - start, TimeUnit.NANOSECONDS);
+          lagTimer.record(end - batch.get(0).queuedAt(), TimeUnit.NANOSECONDS);
+          batchSizes.record(batch.size());
+          markFlushed(lastId);
+        })
+        .onErrorResume(error -> {
+          lost.increment(batch.size());
+          lastLost = new LostBatch(lastId, batch.size(), error.toString());
+          log.error("Dropped {} quotes up to id {} after {} retries", batch.size(), lastId, maxRetries, error);
+          markSettled(lastId);
+          return Mono.empty();
+        });
+  }
+
+  private void markFlushed(long id) {
+    flushedId.set(id);
+    markSettled(id);
+  }
+
+  private void markSettled(long id) {
+    settledId.set(id);
+    settled.tryEmitNext(id);
+  }
+
+  /**
+   * Moves the sequence past an id the delegate already stored directly, counting it as flushed
+   * so later reads do not wait for it.
+   */
+  private void advancePast(long id) {
+    if (sequence.accumulateAndGet(id, Math::max) == id) {
+      markFlushed(id);
+    }
+  }
+
+  /**
+   * Completes once every quote acknowledged so far has been flushed or dropped.
+   */
+  private Mono<Void> awaitFlushed() {
+    return Mono.defer(() -> {
+      long target = sequence.get();
+      if (settledId.get() >= target) {
+        return Mono.empty();
+      }
+      return settled.asFlux().filter(id -> id >= target).next().then();
+    });
+  }
+
+  record LostBatch(long lastId, int size, String error) {
+  }
+
+  private record Queued(Exchange exchange, long queuedAt) {
+  }
+}
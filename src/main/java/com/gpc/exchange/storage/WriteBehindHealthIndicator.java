@@ -0,0 +1,33 @@
+package com.gpc.exchange.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Down once the write-behind queue has dropped a batch: those quotes were acknowledged and are in
+ * the in-memory rollups but not in storage, and stay that way until a restart rebuilds the rollups
+ * from storage.
+ */
+@Component
+@ConditionalOnProperty(name = "exchange.storage.write-behind.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class WriteBehindHealthIndicator implements HealthIndicator {
+
+  private final WriteBehindExchangeStorage storage;
+
+  @Override
+  public Health health() {
+    WriteBehindExchangeStorage.LostBatch lost = storage.getLastLost();
+    Health.Builder builder = lost == null ? Health.up() : Health.down()
+        .withDetail("lastLostId", lost.lastId())
+        .withDetail("lastLostSize", lost.size())
+        .withDetail("lastError", lost.error());
+    return builder
+        .withDetail("pending", storage.pending())
+        .withDetail("flushedId", storage.getFlushedId())
+        .build();
+  }
+}
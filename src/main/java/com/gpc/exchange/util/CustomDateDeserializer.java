@@ -4,20 +4,27 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.gpc.exchange.exception.InvalidDateFormatException;
+import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 public class CustomDateDeserializer extends JsonDeserializer<LocalDate> {
 
-  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final String INVALID_FORMAT = "El formato de la fecha es inválido. Debe ser yyyy-MM-dd.";
 
   @Override
   public LocalDate deserialize(JsonParser p, DeserializationContext ctx) throws InvalidDateFormatException {
+    LocalDate date = null;
     try {
-      String date = p.getText();
-      return LocalDate.parse(date, FORMATTER);
-    } catch (Exception e) {
-      throw new InvalidDateFormatException("El formato de la fecha es inválido. Debe ser yyyy-MM-dd.");
+      char[] text = p.getTextCharacters();
+      if (text != null) {
+        date = FixedLayoutDateParser.parseDate(text, p.getTextOffset(), p.getTextLength());
+      }
+    } catch (IOException e) {
+      throw InvalidDateFormatException.stackless(INVALID_FORMAT);
     }
+    if (date == null) {
+      throw InvalidDateFormatException.stackless(INVALID_FORMAT);
+    }
+    return date;
   }
 }
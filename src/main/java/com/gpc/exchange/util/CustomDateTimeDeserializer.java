@@ -4,26 +4,28 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.gpc.exchange.exception.InvalidDateFormatException;
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
 
 public class CustomDateTimeDeserializer extends JsonDeserializer<LocalDateTime> {
 
-  private static final DateTimeFormatter FORMATTER = new DateTimeFormatterBuilder()
-      .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
-      .optionalStart()
-      .appendPattern("[.SSS][.SS][.S]")
-      .optionalEnd()
-      .toFormatter();
+  private static final String INVALID_FORMAT =
+      "El formato de la fecha y hora es inválido. Debe ser yyyy-MM-dd'T'HH:mm:ss";
 
   @Override
   public LocalDateTime deserialize(JsonParser p, DeserializationContext ctx) throws InvalidDateFormatException {
+    LocalDateTime dateTime = null;
     try {
-      String date = p.getText();
-      return LocalDateTime.parse(date, FORMATTER);
-    } catch (Exception e) {
-      throw new InvalidDateFormatException("El formato de la fecha y hora es inválido. Debe ser yyyy-MM-dd'T'HH:mm:ss");
+      char[] text = p.getTextCharacters();
+      if (text != null) {
+        dateTime = FixedLayoutDateParser.parseDateTime(text, p.getTextOffset(), p.getTextLength());
+      }
+    } catch (IOException e) {
+      throw InvalidDateFormatException.stackless(INVALID_FORMAT);
     }
+    if (dateTime == null) {
+      throw InvalidDateFormatException.stackless(INVALID_FORMAT);
+    }
+    return dateTime;
   }
 }
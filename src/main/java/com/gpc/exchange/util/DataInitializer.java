@@ -1,46 +1,161 @@
 package com.gpc.exchange.util;
 
+import com.gpc.exchange.aggregate.CandleStore;
+import com.gpc.exchange.aggregate.DailyAggregateStore;
+import com.gpc.exchange.aggregate.DailyQuantileStore;
+import com.gpc.exchange.aggregate.LatestExchangeStore;
+import com.gpc.exchange.aggregate.RollupRebuild;
 import com.gpc.exchange.model.Exchange;
-import com.gpc.exchange.repository.ExchangeRepository;
+import com.gpc.exchange.storage.ExchangeStorage;
 import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import lombok.RequiredArgsConstructor;
-import org.springframework.r2dbc.core.DatabaseClient;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+@Slf4j
 @Component
-@RequiredArgsConstructor
-public class DataInitializer {
+public class DataInitializer implements ApplicationRunner {
 
-  private final ExchangeRepository repository;
+  private static final long NANOS_PER_DAY = 86_400_000_000_000L;
 
-  private final DatabaseClient databaseClient;
+  private final ExchangeStorage storage;
+
+  private final DailyAggregateStore aggregateStore;
+
+  private final DailyQuantileStore quantileStore;
+
+  private final CandleStore candleStore;
+
+  private final LatestExchangeStore latestStore;
+
+  private final String mode;
+
+  private final int days;
+
+  private final int quotesPerDay;
+
+  private final int batchSize;
+
+  private final long randomSeed;
+
+  private Mono<Void> ready;
+
+  public DataInitializer(ExchangeStorage storage, DailyAggregateStore aggregateStore,
+                         DailyQuantileStore quantileStore, CandleStore candleStore, LatestExchangeStore latestStore,
+                         @Value("${exchange.seed.mode:demo}") String mode,
+                         @Value("${exchange.seed.days:30}") int days,
+                         @Value("${exchange.seed.quotes-per-day:10000}") int quotesPerDay,
+                         @Value("${exchange.seed.batch-size:1000}") int batchSize,
+                         @Value("${exchange.seed.random-seed:42}") long randomSeed) {
+    this.storage = storage;
+    this.aggregateStore = aggregateStore;
+    this.quantileStore = quantileStore;
+    this.candleStore = candleStore;
+    this.latestStore = latestStore;
+    this.mode = mode;
+    this.days = days;
+    this.quotesPerDay = quotesPerDay;
+    this.batchSize = batchSize;
+    this.randomSeed = randomSeed;
+  }
 
   @PostConstruct
   public void initData() {
-    createTableIfNotExists()
-        .thenMany(repository.deleteAll())
-        .thenMany(Flux.just(
-                new Exchange(null, 3.50, 3.70, LocalDateTime.of(2025, 5, 9, 10, 20)),
-                new Exchange(null, 3.55, 3.70, LocalDateTime.of(2025, 5, 9, 10, 30)),
-                new Exchange(null, 3.60, 3.80, LocalDateTime.of(2025, 5, 9, 10, 40)),
-                new Exchange(null, 3.65, 3.80, LocalDateTime.of(2025, 5, 9, 11, 45)),
-                new Exchange(null, 3.70, 3.90, LocalDateTime.of(2025, 5, 9, 11, 55))
-            ).flatMap(repository::save)
-        ).subscribe(exchange -> System.out.println("Inserted: " + exchange));
-  }
-
-  private Mono<Void> createTableIfNotExists() {
-    String createTableSql = """
-        CREATE TABLE IF NOT EXISTS exchange (
-            id BIGINT AUTO_INCREMENT PRIMARY KEY,
-            buy DOUBLE NOT NULL,
-            sell DOUBLE NOT NULL,
-            date_time TIMESTAMP NOT NULL
-        )
-        """;
-    return databaseClient.sql(createTableSql).then();
+    ready = storage.initialize()
+        .then(storage.isDurable() ? seedIfEmpty() : storage.deleteAll().then(seed()))
+        .then(rebuildRollups())
+        .cache();
+  }
+
+  /**
+   * Holds startup until the data is loaded, so a failed load stops the application instead of
+   * leaving it up with every write failing on {@link #ready()}.
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    ready.block();
+  }
+
+  /**
+   * Completes once the startup data is stored and the in-memory rollups are rebuilt from it.
+   */
+  public Mono<Void> ready() {
+    return ready;
+  }
+
+  /**
+   * Rebuilds every in-memory rollup from a single pass over the stored quotes.
+   */
+  private Mono<Void> rebuildRollups() {
+    return Mono.defer(() -> RollupRebuild.replay(storage.findAll(), aggregateStore.startRebuild(),
+        quantileStore.startRebuild(), candleStore.startRebuild(), latestStore.startRebuild()));
+  }
+
+  private Mono<Void> seedIfEmpty() {
+    return storage.findPage(null, null, null, null, 1).hasElements()
+        .flatMap(hasData -> hasData ? Mono.empty() : seed());
+  }
+
+  private Mono<Void> seed() {
+    return switch (mode) {
+      case "bulk" -> seedBulk();
+      case "none" -> Mono.empty();
+      default -> seedDemo();
+    };
+  }
+
+  private Mono<Void> seedDemo() {
+    return storage.insertAll(List.of(
+            new Exchange(null, 3.50, 3.70, LocalDateTime.of(2025, 5, 9, 10, 20)),
+            new Exchange(null, 3.55, 3.70, LocalDateTime.of(2025, 5, 9, 10, 30)),
+            new Exchange(null, 3.60, 3.80, LocalDateTime.of(2025, 5, 9, 10, 40)),
+            new Exchange(null, 3.65, 3.80, LocalDateTime.of(2025, 5, 9, 11, 45)),
+            new Exchange(null, 3.70, 3.90, LocalDateTime.of(2025, 5, 9, 11, 55))
+        ))
+        .doOnNext(exchange -> log.info("Inserted: {}", exchange))
+        .then();
+  }
+
+  /**
+   * {@code days} days up to yesterday with {@code quotesPerDay} evenly spaced random-walk quotes
+   * each, generated lazily and inserted {@code batchSize} at a time. The quotes are numbered here
+   * so batches skip returning generated keys, which made the inserts several times slower; the
+   * storage sequence is moved past them once, after the last batch. Writes wait for
+   * {@link #ready()}, so nothing else takes ids from that range meanwhile.
+   */
+  private Mono<Void> seedBulk() {
+    LocalDateTime start = LocalDate.now().minusDays(days).atStartOfDay();
+    long total = (long) days * quotesPerDay;
+    long step = NANOS_PER_DAY / quotesPerDay;
+    return storage.findLastId()
+        .flatMap(lastId -> {
+          QuoteRandomWalk walk = new QuoteRandomWalk(randomSeed, QuoteRandomWalk.INITIAL_BUY, quotesPerDay);
+          return Flux.<Exchange, Long>generate(() -> 0L, (index, sink) -> {
+                if (index == total) {
+                  sink.complete();
+                  return index;
+                }
+                long day = index / quotesPerDay;
+                long slot = index % quotesPerDay;
+                Exchange exchange = walk.next(start.plusDays(day).plusNanos(slot * step / 1_000_000 * 1_000_000));
+                exchange.setId(lastId + index + 1);
+                sink.next(exchange);
+                return index + 1;
+              })
+              .buffer(batchSize)
+              .concatMap(batch -> storage.insertAllWithIds(batch).thenReturn(batch.size()))
+              .reduce(0L, Long::sum)
+              .flatMap(count -> storage.restartIdsAfter(lastId + count).thenReturn(count));
+        })
+        .elapsed()
+        .doOnNext(timed -> log.info("Seeded {} quotes over {} days in {} ms", timed.getT2(), days, timed.getT1()))
+        .then();
   }
 }
@@ -0,0 +1,93 @@
+package com.gpc.exchange.util;
+
+import com.gpc.exchange.aggregate.LatestExchangeStore;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.service.ExchangeService;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Saves random-walk quotes through {@link ExchangeService#save} at {@code exchange.feed.rate}
+ * quotes per second, so aggregates, candles and realtime subscribers see them like real ones.
+ * Ticks the service cannot keep up with are skipped rather than queued.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "exchange.feed.enabled", havingValue = "true")
+public class FeedSimulator {
+
+  private static final long SECONDS_PER_DAY = 86_400;
+
+  private final ExchangeService service;
+
+  private final LatestExchangeStore latestStore;
+
+  private final DataInitializer dataInitializer;
+
+  private final double rate;
+
+  private final long randomSeed;
+
+  private final AtomicLong skipped = new AtomicLong();
+
+  private Disposable feed;
+
+  public FeedSimulator(ExchangeService service, LatestExchangeStore latestStore, DataInitializer dataInitializer,
+                       @Value("${exchange.feed.rate:10}") double rate,
+                       @Value("${exchange.feed.random-seed:7}") long randomSeed) {
+    this.service = service;
+    this.latestStore = latestStore;
+    this.dataInitializer = dataInitializer;
+    this.rate = rate;
+    this.randomSeed = randomSeed;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    log.info("Feed simulator saving {} quotes per second", rate);
+    feed = feed().subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (feed != null) {
+      feed.dispose();
+      log.info("Feed simulator stopped, {} ticks skipped", skipped.get());
+    }
+  }
+
+  /**
+   * One tick per quote, or one per millisecond carrying several quotes above 1000 quotes per
+   * second. It starts once the startup data is in place and continues from the latest quote.
+   */
+  Flux<Exchange> feed() {
+    Duration period = Duration.ofNanos(Math.max(1_000_000L, (long) (1_000_000_000L / rate)));
+    int quotesPerTick = (int) Math.max(1, Math.round(rate * period.toNanos() / 1_000_000_000.0));
+    return dataInitializer.ready().thenMany(Flux.defer(() -> {
+      double initialBuy = latestStore.find(Exchange.DEFAULT_PAIR)
+          .map(latest -> latest.exchange().getBuy())
+          .orElse(QuoteRandomWalk.INITIAL_BUY);
+      QuoteRandomWalk walk = new QuoteRandomWalk(randomSeed, initialBuy, rate * SECONDS_PER_DAY);
+      return Flux.interval(period)
+          .onBackpressureDrop(tick -> skipped.incrementAndGet())
+          .concatMap(tick -> Flux.range(0, quotesPerTick)
+              .concatMap(i -> service.save(walk.next(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)))
+                  .onErrorResume(error -> {
+                    log.warn("Feed simulator could not save a quote", error);
+                    return Mono.empty();
+                  })), 1);
+    }));
+  }
+}
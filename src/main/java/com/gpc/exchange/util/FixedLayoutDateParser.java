@@ -0,0 +1,138 @@
+package com.gpc.exchange.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Parses {@code yyyy-MM-dd} and {@code yyyy-MM-dd'T'HH:mm:ss[.SSS][.SS][.S]} straight from a char
+ * buffer. It mirrors the {@code DateTimeFormatter} patterns the deserializers used to rely on,
+ * including the SMART resolver: days 29-31 are clamped to the end of the month and
+ * {@code 24:00:00} rolls over to the next day. Invalid input yields {@code null}.
+ */
+final class FixedLayoutDateParser {
+
+  private static final int MAX_YEAR = 999_999_999;
+
+  private static final int MAX_SIGNED_YEAR_DIGITS = 18;
+
+  private FixedLayoutDateParser() {
+  }
+
+  static LocalDate parseDate(char[] text, int offset, int length) {
+    int end = offset + length;
+    int yearEnd = yearEnd(text, offset, end);
+    if (yearEnd < 0 || yearEnd + 6 != end) {
+      return null;
+    }
+    return resolveDate(text, offset, yearEnd);
+  }
+
+  static LocalDateTime parseDateTime(char[] text, int offset, int length) {
+    int end = offset + length;
+    int yearEnd = yearEnd(text, offset, end);
+    if (yearEnd < 0 || yearEnd + 15 > end) {
+      return null;
+    }
+    LocalDate date = resolveDate(text, offset, yearEnd);
+    if (date == null || text[yearEnd + 6] != 'T' || text[yearEnd + 9] != ':' || text[yearEnd + 12] != ':') {
+      return null;
+    }
+    int hour = twoDigits(text, yearEnd + 7);
+    int minute = twoDigits(text, yearEnd + 10);
+    int second = twoDigits(text, yearEnd + 13);
+
+    int pos = yearEnd + 15;
+    int nano = -1;
+    for (int width = 3; width >= 1; width--) {
+      if (pos + width >= end || text[pos] != '.') {
+        continue;
+      }
+      int fraction = digits(text, pos + 1, pos + 1 + width);
+      if (fraction < 0) {
+        continue;
+      }
+      for (int i = width; i < 9; i++) {
+        fraction *= 10;
+      }
+      if (nano >= 0 && nano != fraction) {
+        return null;
+      }
+      nano = fraction;
+      pos += 1 + width;
+    }
+    if (pos != end || hour < 0 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+      return null;
+    }
+    nano = Math.max(nano, 0);
+
+    if (hour == 24) {
+      if (minute != 0 || second != 0 || nano != 0 || date.equals(LocalDate.MAX)) {
+        return null;
+      }
+      return LocalDateTime.of(date.plusDays(1), LocalTime.MIDNIGHT);
+    }
+    if (hour > 23) {
+      return null;
+    }
+    return LocalDateTime.of(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), hour, minute, second, nano);
+  }
+
+  /**
+   * Returns the index right after the year, or -1. Unsigned years take exactly four digits; a
+   * leading '+' requires more than four, as {@code yyyy} does with {@code EXCEEDS_PAD}.
+   */
+  private static int yearEnd(char[] text, int offset, int end) {
+    if (offset >= end) {
+      return -1;
+    }
+    if (text[offset] != '+') {
+      return offset + 4 <= end && digits(text, offset, offset + 4) >= 0 ? offset + 4 : -1;
+    }
+    int pos = offset + 1;
+    while (pos < end && isDigit(text[pos])) {
+      pos++;
+    }
+    int count = pos - offset - 1;
+    return count > 4 && count <= MAX_SIGNED_YEAR_DIGITS ? pos : -1;
+  }
+
+  private static LocalDate resolveDate(char[] text, int offset, int yearEnd) {
+    if (text[yearEnd] != '-' || text[yearEnd + 3] != '-') {
+      return null;
+    }
+    long year = 0;
+    for (int i = text[offset] == '+' ? offset + 1 : offset; i < yearEnd; i++) {
+      year = year * 10 + (text[i] - '0');
+    }
+    int month = twoDigits(text, yearEnd + 1);
+    int day = twoDigits(text, yearEnd + 4);
+    if (year < 1 || year > MAX_YEAR || month < 1 || month > 12 || day < 1 || day > 31) {
+      return null;
+    }
+    int maxDay = Month.of(month).length(Year.isLeap(year));
+    return LocalDate.of((int) year, month, Math.min(day, maxDay));
+  }
+
+  private static int twoDigits(char[] text, int index) {
+    return digits(text, index, index + 2);
+  }
+
+  private static int digits(char[] text, int from, int to) {
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      char c = text[i];
+      if (!isDigit(c)) {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
@@ -0,0 +1,44 @@
+package com.gpc.exchange.util;
+
+import com.gpc.exchange.model.Exchange;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Synthetic quote source: the buy price follows a geometric random walk and the sell price stays
+ * a fixed spread above it. The same seed always produces the same prices.
+ */
+public class QuoteRandomWalk {
+
+  public static final double INITIAL_BUY = 3.70;
+
+  public static final double SPREAD = 0.20;
+
+  public static final double DAILY_VOLATILITY = 0.005;
+
+  private final Random random;
+
+  private final double stepVolatility;
+
+  private double buy;
+
+  /**
+   * @param stepsPerDay how many quotes make up a day, so the walk keeps {@link #DAILY_VOLATILITY}
+   *                    whatever the quote rate
+   */
+  public QuoteRandomWalk(long seed, double initialBuy, double stepsPerDay) {
+    this.random = new Random(seed);
+    this.stepVolatility = DAILY_VOLATILITY / Math.sqrt(stepsPerDay);
+    this.buy = initialBuy;
+  }
+
+  public Exchange next(LocalDateTime dateTime) {
+    buy *= Math.exp(stepVolatility * random.nextGaussian());
+    double roundedBuy = round(buy);
+    return new Exchange(null, roundedBuy, round(roundedBuy + SPREAD), dateTime);
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 10_000) / 10_000.0;
+  }
+}
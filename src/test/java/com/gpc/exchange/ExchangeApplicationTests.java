@@ -3,7 +3,7 @@ package com.gpc.exchange;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.rsocket.server.port=0")
 class ExchangeApplicationTests {
 
 	@Test
@@ -0,0 +1,124 @@
+package com.gpc.exchange.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class CandleStoreTest {
+
+  private static final LocalDate DATE = LocalDate.of(2025, 5, 9);
+
+  private CandleStore store;
+
+  @Mock
+  private ExchangeStorage storage;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    store = new CandleStore(storage);
+  }
+
+  @ParameterizedTest
+  @EnumSource(CandleInterval.class)
+  void testIncrementalCandlesMatchListComputation(CandleInterval interval) {
+    // Arrange
+    List<Exchange> exchanges = randomExchanges(new Random(42), 10_000);
+    List<Exchange> shuffled = new ArrayList<>(exchanges);
+    Collections.shuffle(shuffled, new Random(3));
+
+    // Act
+    shuffled.forEach(store::add);
+
+    // Assert
+    assertMatches(interval, exchanges, store.find(Exchange.DEFAULT_PAIR, interval, DATE.atStartOfDay(),
+        DATE.plusDays(1).atStartOfDay()));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CandleInterval.class)
+  void testRebuildMatchesListComputation(CandleInterval interval) {
+    // Arrange
+    List<Exchange> exchanges = randomExchanges(new Random(7), 5_000);
+    store.add(new Exchange(0L, 99.0, 99.0, DATE.minusDays(1).atStartOfDay()));
+    Mockito.when(storage.findAll()).thenReturn(Flux.fromIterable(exchanges));
+
+    // Act
+    StepVerifier.create(store.rebuild()).verifyComplete();
+
+    // Assert
+    assertMatches(interval, exchanges, store.find(Exchange.DEFAULT_PAIR, interval, DATE.atStartOfDay(),
+        DATE.plusDays(1).atStartOfDay()));
+    assertTrue(store.find(Exchange.DEFAULT_PAIR, interval, DATE.minusDays(1).atStartOfDay(), DATE.atStartOfDay())
+        .isEmpty());
+  }
+
+  @ParameterizedTest
+  @EnumSource(CandleInterval.class)
+  void testFindWithEmptyRange(CandleInterval interval) {
+    // Arrange
+    store.add(new Exchange(1L, 3.5, 3.7, DATE.atTime(10, 0)));
+
+    // Act & Assert
+    assertTrue(store.find(Exchange.DEFAULT_PAIR, interval, DATE.atTime(11, 0), DATE.atTime(10, 0)).isEmpty());
+  }
+
+  private static List<Exchange> randomExchanges(Random random, int size) {
+    List<Exchange> exchanges = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      double buy = 3.0 + random.nextInt(10_000) / 10_000.0;
+      double sell = buy + random.nextInt(500) / 10_000.0;
+      LocalDateTime dateTime = DATE.atStartOfDay().plusSeconds(i * 8L + random.nextInt(8));
+      exchanges.add(new Exchange((long) i, buy, sell, dateTime));
+    }
+    return exchanges;
+  }
+
+  private static void assertMatches(CandleInterval interval, List<Exchange> exchanges, Iterable<Candle> candles) {
+    List<Candle> actual = new ArrayList<>();
+    candles.forEach(actual::add);
+
+    List<List<Exchange>> expected = new ArrayList<>();
+    LocalDateTime currentStart = null;
+    for (Exchange exchange : exchanges.stream().sorted(Comparator.comparing(Exchange::getDateTime)).toList()) {
+      LocalDateTime start = interval.bucketStart(exchange.getDateTime());
+      if (!start.equals(currentStart)) {
+        expected.add(new ArrayList<>());
+        currentStart = start;
+      }
+      expected.get(expected.size() - 1).add(exchange);
+    }
+
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      List<Exchange> bucket = expected.get(i);
+      Candle candle = actual.get(i);
+      assertEquals(interval.bucketStart(bucket.get(0).getDateTime()), candle.start());
+      assertEquals(bucket.size(), candle.count());
+      assertEquals(bucket.get(0).getBuy(), candle.buyOpen());
+      assertEquals(bucket.get(bucket.size() - 1).getBuy(), candle.buyClose());
+      assertEquals(bucket.stream().mapToDouble(Exchange::getBuy).max().orElseThrow(), candle.buyHigh());
+      assertEquals(bucket.stream().mapToDouble(Exchange::getBuy).min().orElseThrow(), candle.buyLow());
+      assertEquals(bucket.get(0).getSell(), candle.sellOpen());
+      assertEquals(bucket.get(bucket.size() - 1).getSell(), candle.sellClose());
+      assertEquals(bucket.stream().mapToDouble(Exchange::getSell).max().orElseThrow(), candle.sellHigh());
+      assertEquals(bucket.stream().mapToDouble(Exchange::getSell).min().orElseThrow(), candle.sellLow());
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.gpc.exchange.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class DailyAggregateStoreTest {
+
+  private static final LocalDate DATE = LocalDate.of(2025, 5, 9);
+
+  private DailyAggregateStore store;
+
+  @Mock
+  private ExchangeStorage storage;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    store = new DailyAggregateStore(storage);
+  }
+
+  @Test
+  void testIncrementalAggregateMatchesListComputation() {
+    // Arrange
+    List<Exchange> exchanges = randomExchanges(new Random(42), 10_000);
+
+    // Act
+    exchanges.forEach(store::add);
+
+    // Assert
+    assertMatches(exchanges, store.find(Exchange.DEFAULT_PAIR, DATE).orElseThrow());
+  }
+
+  @Test
+  void testRebuildMatchesListComputation() {
+    // Arrange
+    List<Exchange> exchanges = randomExchanges(new Random(7), 5_000);
+    Exchange otherDay = new Exchange(0L, 1.0, 2.0, DATE.plusDays(1).atTime(9, 0));
+    store.add(new Exchange(0L, 99.0, 99.0, DATE.minusDays(1).atStartOfDay()));
+
+    List<Exchange> stored = new ArrayList<>(exchanges);
+    stored.add(otherDay);
+    Mockito.when(storage.findAll()).thenReturn(Flux.fromIterable(stored));
+
+    // Act
+    StepVerifier.create(store.rebuild()).verifyComplete();
+
+    // Assert
+    assertMatches(exchanges, store.find(Exchange.DEFAULT_PAIR, DATE).orElseThrow());
+    assertEquals(1, store.find(Exchange.DEFAULT_PAIR, DATE.plusDays(1)).orElseThrow().count());
+    assertTrue(store.find(Exchange.DEFAULT_PAIR, DATE.minusDays(1)).isEmpty());
+  }
+
+  @Test
+  void testPairsAreAggregatedSeparately() {
+    // Arrange
+    List<Exchange> exchanges = randomExchanges(new Random(11), 1_000);
+    Exchange otherPair = new Exchange(1_000L, "EURPEN", 4.0, 4.2, DATE.atTime(12, 0));
+
+    // Act
+    exchanges.forEach(store::add);
+    store.add(otherPair);
+
+    // Assert
+    assertMatches(exchanges, store.find(Exchange.DEFAULT_PAIR, DATE).orElseThrow());
+    assertMatches(List.of(otherPair), store.find("EURPEN", DATE).orElseThrow());
+    assertTrue(store.find("GBPPEN", DATE).isEmpty());
+  }
+
+  private static List<Exchange> randomExchanges(Random random, int size) {
+    List<Exchange> exchanges = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      double buy = 3.0 + random.nextInt(10_000) / 10_000.0;
+      double sell = buy + random.nextInt(500) / 10_000.0;
+      LocalDateTime dateTime = DATE.atStartOfDay().plusSeconds(random.nextInt(86_400));
+      exchanges.add(new Exchange((long) i, buy, sell, dateTime));
+    }
+    return exchanges;
+  }
+
+  private static void assertMatches(List<Exchange> exchanges, DailyAggregate aggregate) {
+    assertEquals(exchanges.size(), aggregate.count());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getBuy).max().orElse(0), aggregate.buyMax());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getBuy).min().orElse(0), aggregate.buyMin());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getBuy).average().orElse(0), aggregate.buyAverage(), 1e-9);
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getSell).max().orElse(0), aggregate.sellMax());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getSell).min().orElse(0), aggregate.sellMin());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getSell).average().orElse(0), aggregate.sellAverage(), 1e-9);
+  }
+}
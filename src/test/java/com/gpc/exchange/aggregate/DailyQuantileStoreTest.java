@@ -0,0 +1,79 @@
+package com.gpc.exchange.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class DailyQuantileStoreTest {
+
+  private static final LocalDate DATE = LocalDate.of(2025, 5, 9);
+
+  private DailyQuantileStore store;
+
+  @Mock
+  private ExchangeStorage storage;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    store = new DailyQuantileStore(storage);
+  }
+
+  @Test
+  void testRebuildMatchesIncrementalSketches() {
+    // Arrange
+    List<Exchange> exchanges = randomExchanges(new Random(42), 5_000);
+    exchanges.forEach(store::add);
+    DailyQuantileStore rebuilt = new DailyQuantileStore(storage);
+    rebuilt.add(new Exchange(0L, 99.0, 99.0, DATE.minusDays(1).atStartOfDay()));
+    Mockito.when(storage.findAll()).thenReturn(Flux.fromIterable(exchanges));
+
+    // Act
+    StepVerifier.create(rebuilt.rebuild()).verifyComplete();
+
+    // Assert
+    DailyQuantiles incremental = store.find(Exchange.DEFAULT_PAIR, DATE).orElseThrow();
+    DailyQuantiles fromStorage = rebuilt.find(Exchange.DEFAULT_PAIR, DATE).orElseThrow();
+    assertEquals(5_000, fromStorage.count());
+    for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+      assertEquals(incremental.buy(quantile), fromStorage.buy(quantile));
+      assertEquals(incremental.sell(quantile), fromStorage.sell(quantile));
+    }
+    assertTrue(rebuilt.find(Exchange.DEFAULT_PAIR, DATE.minusDays(1)).isEmpty());
+  }
+
+  @Test
+  void testPairsAndDaysAreSketchedSeparately() {
+    // Act
+    store.add(new Exchange(1L, 3.50, 3.70, DATE.atTime(10, 0)));
+    store.add(new Exchange(2L, "EURPEN", 4.00, 4.20, DATE.atTime(10, 0)));
+    store.add(new Exchange(3L, 3.60, 3.80, DATE.plusDays(1).atTime(10, 0)));
+
+    // Assert
+    assertEquals(3.50, store.find(Exchange.DEFAULT_PAIR, DATE).orElseThrow().buy(0.5), 0.001);
+    assertEquals(4.20, store.find("EURPEN", DATE).orElseThrow().sell(0.5), 0.001);
+    assertEquals(1, store.find(Exchange.DEFAULT_PAIR, DATE.plusDays(1)).orElseThrow().count());
+    assertTrue(store.find("GBPPEN", DATE).isEmpty());
+  }
+
+  private static List<Exchange> randomExchanges(Random random, int count) {
+    List<Exchange> exchanges = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      double buy = 3.0 + random.nextInt(10_000) / 10_000.0;
+      exchanges.add(new Exchange((long) i, buy, buy + 0.2, DATE.atStartOfDay().plusSeconds(i)));
+    }
+    return exchanges;
+  }
+}
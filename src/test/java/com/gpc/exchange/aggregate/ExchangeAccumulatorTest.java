@@ -0,0 +1,44 @@
+package com.gpc.exchange.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ExchangeAccumulatorTest {
+
+  @Test
+  void testSummarizingMatchesStreamComputation() {
+    // Arrange
+    Random random = new Random(11);
+    LocalDateTime now = LocalDateTime.now();
+    List<Exchange> exchanges = IntStream.range(0, 1_000)
+        .mapToObj(i -> new Exchange((long) i, random.nextDouble() * 5, random.nextDouble() * 5, now))
+        .toList();
+
+    // Act
+    DailyAggregate aggregate = exchanges.parallelStream().collect(ExchangeAccumulator.summarizing());
+
+    // Assert
+    assertEquals(exchanges.size(), aggregate.count());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getBuy).max().orElse(0), aggregate.buyMax());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getBuy).min().orElse(0), aggregate.buyMin());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getBuy).average().orElse(0), aggregate.buyAverage(), 1e-9);
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getSell).max().orElse(0), aggregate.sellMax());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getSell).min().orElse(0), aggregate.sellMin());
+    assertEquals(exchanges.stream().mapToDouble(Exchange::getSell).average().orElse(0), aggregate.sellAverage(), 1e-9);
+  }
+
+  @Test
+  void testEmptyAccumulator() {
+    // Act
+    DailyAggregate aggregate = new ExchangeAccumulator().toAggregate();
+
+    // Assert
+    assertEquals(DailyAggregate.EMPTY, aggregate);
+  }
+}
@@ -0,0 +1,107 @@
+package com.gpc.exchange.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class LatestExchangeStoreTest {
+
+  private static final LocalDateTime DATE_TIME = LocalDateTime.of(2025, 5, 9, 10, 20);
+
+  private LatestExchangeStore store;
+
+  @Mock
+  private ExchangeStorage storage;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    store = new LatestExchangeStore(storage);
+  }
+
+  @Test
+  void testAddKeepsNewestQuote() {
+    // Arrange
+    Exchange first = new Exchange(1L, 3.50, 3.70, DATE_TIME);
+    Exchange sameTime = new Exchange(2L, 3.55, 3.70, DATE_TIME);
+    Exchange backdated = new Exchange(3L, 3.40, 3.60, DATE_TIME.minusHours(1));
+
+    // Act
+    store.add(first);
+    String firstETag = store.find(Exchange.DEFAULT_PAIR).orElseThrow().eTag();
+    store.add(sameTime);
+    store.add(backdated);
+
+    // Assert
+    LatestExchange latest = store.find(Exchange.DEFAULT_PAIR).orElseThrow();
+    assertEquals(sameTime, latest.exchange());
+    assertNotEquals(firstETag, latest.eTag());
+  }
+
+  @Test
+  void testKeepsNewestQuotePerPair() {
+    // Arrange
+    Exchange quote = new Exchange(1L, 3.50, 3.70, DATE_TIME);
+    Exchange olderOtherPair = new Exchange(2L, "EURPEN", 4.00, 4.20, DATE_TIME.minusHours(1));
+
+    // Act
+    store.add(quote);
+    store.add(olderOtherPair);
+
+    // Assert
+    assertEquals(quote, store.find(Exchange.DEFAULT_PAIR).orElseThrow().exchange());
+    assertEquals(olderOtherPair, store.find("EURPEN").orElseThrow().exchange());
+  }
+
+  @Test
+  void testETagDependsOnQuoteValues() {
+    // Arrange
+    Exchange exchange = new Exchange(1L, 3.50, 3.70, DATE_TIME);
+
+    // Act
+    LatestExchange snapshot = LatestExchange.of(exchange);
+    exchange.setBuy(9.99);
+
+    // Assert
+    assertEquals(LatestExchange.of(new Exchange(1L, 3.50, 3.70, DATE_TIME)).eTag(), snapshot.eTag());
+    assertNotEquals(LatestExchange.of(exchange).eTag(), snapshot.eTag());
+    assertEquals(3.50, snapshot.exchange().getBuy());
+  }
+
+  @Test
+  void testRebuildTakesNewestStoredQuote() {
+    // Arrange
+    Exchange newest = new Exchange(2L, 3.55, 3.70, DATE_TIME.plusMinutes(10));
+    store.add(new Exchange(9L, 1.0, 1.0, DATE_TIME.plusDays(1)));
+    Mockito.when(storage.findAll()).thenReturn(Flux.just(new Exchange(1L, 3.50, 3.70, DATE_TIME), newest,
+        new Exchange(3L, 3.60, 3.80, DATE_TIME.minusMinutes(5))));
+
+    // Act
+    StepVerifier.create(store.rebuild()).verifyComplete();
+
+    // Assert
+    assertEquals(newest, store.find(Exchange.DEFAULT_PAIR).orElseThrow().exchange());
+  }
+
+  @Test
+  void testRebuildEmptyStorageClearsSnapshot() {
+    // Arrange
+    store.add(new Exchange(1L, 3.50, 3.70, DATE_TIME));
+    Mockito.when(storage.findAll()).thenReturn(Flux.empty());
+
+    // Act
+    StepVerifier.create(store.rebuild()).verifyComplete();
+
+    // Assert
+    assertTrue(store.find(Exchange.DEFAULT_PAIR).isEmpty());
+  }
+}
@@ -0,0 +1,153 @@
+package com.gpc.exchange.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTest {
+
+  private static final double[] QUANTILES = {0, 0.01, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+
+  @Test
+  void testRandomWalkQuantilesAreWithinRelativeAccuracyOfExact() {
+    // Arrange
+    Random random = new Random(42);
+    double[] values = new double[100_000];
+    double price = 3.70;
+    for (int i = 0; i < values.length; i++) {
+      price = Math.max(0.01, price + random.nextGaussian() * 0.002);
+      values[i] = price;
+    }
+
+    // Act & Assert
+    assertWithinRelativeAccuracy(values, sketchOf(values));
+  }
+
+  @Test
+  void testSkewedQuantilesAreWithinRelativeAccuracyOfExact() {
+    // Arrange
+    Random random = new Random(7);
+    double[] values = new double[50_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Math.exp(random.nextGaussian() * 0.25);
+    }
+
+    // Act & Assert
+    assertWithinRelativeAccuracy(values, sketchOf(values));
+  }
+
+  @Test
+  void testMergedSketchesMatchOneSketchOfAllValues() {
+    // Arrange
+    Random random = new Random(11);
+    double[] values = new double[30_000];
+    QuantileSketch[] parts = {new QuantileSketch(), new QuantileSketch(), new QuantileSketch()};
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 3.0 + i % 3 + random.nextDouble();
+      parts[i % 3].add(values[i]);
+    }
+
+    // Act
+    QuantileSketch merged = new QuantileSketch();
+    Arrays.stream(parts).forEach(merged::merge);
+
+    // Assert
+    QuantileSketch whole = sketchOf(values);
+    assertEquals(whole.count(), merged.count());
+    for (double quantile : QUANTILES) {
+      assertEquals(whole.quantile(quantile), merged.quantile(quantile));
+    }
+    assertWithinRelativeAccuracy(values, merged);
+  }
+
+  @Test
+  void testWideRangeCollapsesLowestBuckets() {
+    // Arrange
+    double[] values = new double[10_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Math.pow(10, 6.0 * i / (values.length - 1));
+    }
+    QuantileSketch sketch = sketchOf(values);
+
+    // Act
+    double lowest = sketch.quantile(0);
+    double highest = sketch.quantile(1);
+    double p99 = sketch.quantile(0.99);
+
+    // Assert
+    assertEquals(QuantileSketch.MAX_BUCKETS, sketch.bucketCount());
+    assertEquals(values.length, sketch.count());
+    assertTrue(lowest > values[0]);
+    assertEquals(1e6, highest, 1e6 * QuantileSketch.RELATIVE_ACCURACY);
+    double exact = values[(int) Math.floor(0.99 * (values.length - 1))];
+    assertEquals(exact, p99, exact * QuantileSketch.RELATIVE_ACCURACY);
+  }
+
+  @Test
+  void testEmptySketchAndZeroValues() {
+    // Arrange
+    QuantileSketch sketch = new QuantileSketch();
+
+    // Act & Assert
+    assertEquals(0.0, sketch.quantile(0.5));
+    sketch.add(0.0);
+    sketch.add(0.0);
+    sketch.add(3.5);
+    assertEquals(0.0, sketch.quantile(0.5));
+    assertEquals(3.5, sketch.quantile(1), 3.5 * QuantileSketch.RELATIVE_ACCURACY);
+    assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+  }
+
+  @Test
+  void testOutOfRangeValuesAreClamped() {
+    // Arrange
+    QuantileSketch sketch = new QuantileSketch();
+
+    // Act
+    sketch.add(Double.NaN);
+    sketch.add(-3.5);
+    sketch.add(Double.POSITIVE_INFINITY);
+    sketch.add(1e300);
+
+    // Assert
+    assertEquals(4, sketch.count());
+    assertEquals(0.0, sketch.quantile(0.5));
+    double max = QuantileSketch.MAX_VALUE;
+    assertEquals(max, sketch.quantile(0.75), max * QuantileSketch.RELATIVE_ACCURACY);
+    assertEquals(max, sketch.quantile(1), max * QuantileSketch.RELATIVE_ACCURACY);
+  }
+
+  @Test
+  void testCopyIsIndependent() {
+    // Arrange
+    QuantileSketch sketch = sketchOf(new double[] {3.5, 3.6});
+
+    // Act
+    QuantileSketch copy = sketch.copy();
+    sketch.add(3.7);
+
+    // Assert
+    assertEquals(2, copy.count());
+    assertEquals(3.6, copy.quantile(1), 3.6 * QuantileSketch.RELATIVE_ACCURACY);
+  }
+
+  private static QuantileSketch sketchOf(double[] values) {
+    QuantileSketch sketch = new QuantileSketch();
+    for (double value : values) {
+      sketch.add(value);
+    }
+    return sketch;
+  }
+
+  private static void assertWithinRelativeAccuracy(double[] values, QuantileSketch sketch) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    for (double quantile : QUANTILES) {
+      double exact = sorted[(int) Math.floor(quantile * (sorted.length - 1))];
+      double estimate = sketch.quantile(quantile);
+      assertEquals(exact, estimate, exact * QuantileSketch.RELATIVE_ACCURACY + 1e-12, "quantile " + quantile);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.gpc.exchange.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class RollupRebuildTest {
+
+  private static final LocalDateTime DATE_TIME = LocalDateTime.of(2025, 5, 9, 10, 20);
+
+  private final ExchangeStorage storage = Mockito.mock(ExchangeStorage.class);
+
+  @Test
+  void testReplayFeedsEveryStoreFromOnePass() {
+    // Arrange
+    DailyAggregateStore aggregateStore = new DailyAggregateStore(storage);
+    LatestExchangeStore latestStore = new LatestExchangeStore(storage);
+    AtomicInteger subscriptions = new AtomicInteger();
+    Flux<Exchange> exchanges = Flux.just(new Exchange(1L, 3.50, 3.70, DATE_TIME),
+            new Exchange(2L, 3.60, 3.80, DATE_TIME.plusMinutes(10)))
+        .doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+
+    // Act
+    StepVerifier.create(RollupRebuild.replay(exchanges, aggregateStore.startRebuild(), latestStore.startRebuild()))
+        .verifyComplete();
+
+    // Assert
+    assertEquals(1, subscriptions.get());
+    assertEquals(2, aggregateStore.find(Exchange.DEFAULT_PAIR, DATE_TIME.toLocalDate()).orElseThrow().count());
+    assertEquals(2L, latestStore.find(Exchange.DEFAULT_PAIR).orElseThrow().exchange().getId());
+  }
+
+  @Test
+  void testReplayAppliesNothingWhenReadingFails() {
+    // Arrange
+    LatestExchangeStore latestStore = new LatestExchangeStore(storage);
+    Exchange current = new Exchange(1L, 3.50, 3.70, DATE_TIME);
+    latestStore.add(current);
+    Flux<Exchange> exchanges = Flux.concat(Flux.just(new Exchange(2L, 3.60, 3.80, DATE_TIME.plusMinutes(10))),
+        Flux.error(new IllegalStateException("database down")));
+
+    // Act
+    StepVerifier.create(RollupRebuild.replay(exchanges, latestStore.startRebuild()))
+        .verifyError(IllegalStateException.class);
+
+    // Assert
+    assertEquals(current, latestStore.find(Exchange.DEFAULT_PAIR).orElseThrow().exchange());
+  }
+}
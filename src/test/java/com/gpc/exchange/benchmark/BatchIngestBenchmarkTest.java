@@ -0,0 +1,79 @@
+package com.gpc.exchange.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.rsocket.server.port=0")
+class BatchIngestBenchmarkTest {
+
+  private static final int QUOTES = Integer.getInteger("benchmark.quotes", 20_000);
+
+  private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 16);
+
+  private static final int BATCH_SIZE = Integer.getInteger("benchmark.batchSize", 1_000);
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private WebClient.Builder webClientBuilder;
+
+  @Test
+  void compareSingleAndBatchIngest() {
+    // Arrange
+    WebClient client = webClientBuilder.baseUrl("http://localhost:" + port + "/api/exchange").build();
+    List<ExchangeDTO> quotes = IntStream.range(0, QUOTES)
+        .mapToObj(i -> new ExchangeDTO(null, 3.5 + i % 100 / 1000.0, 3.7 + i % 100 / 1000.0,
+            LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i)))
+        .toList();
+
+    // Act
+    long start = System.nanoTime();
+    Long single = Flux.fromIterable(quotes)
+        .flatMap(quote -> client.post().contentType(MediaType.APPLICATION_JSON).bodyValue(quote)
+            .retrieve().bodyToMono(ExchangeDTO.class), CONCURRENCY)
+        .count()
+        .block();
+    double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+    start = System.nanoTime();
+    Long jsonBatch = Flux.fromIterable(quotes)
+        .buffer(BATCH_SIZE)
+        .flatMap(chunk -> client.post().uri("/batch").contentType(MediaType.APPLICATION_JSON).bodyValue(chunk)
+            .retrieve().bodyToFlux(ExchangeDTO.class).count(), CONCURRENCY)
+        .reduce(0L, Long::sum)
+        .block();
+    double jsonBatchSeconds = (System.nanoTime() - start) / 1e9;
+
+    start = System.nanoTime();
+    Long ndjson = client.post().uri("/batch")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .accept(MediaType.APPLICATION_NDJSON)
+        .body(Flux.fromIterable(quotes), ExchangeDTO.class)
+        .retrieve()
+        .bodyToFlux(ExchangeDTO.class)
+        .count()
+        .block();
+    double ndjsonSeconds = (System.nanoTime() - start) / 1e9;
+
+    // Assert
+    assertEquals(QUOTES, single);
+    assertEquals(QUOTES, jsonBatch);
+    assertEquals(QUOTES, ndjson);
+    System.out.printf("Ingest of %,d quotes: single=%,.0f quotes/s, batch json=%,.0f quotes/s, batch ndjson=%,.0f quotes/s%n",
+        QUOTES, QUOTES / singleSeconds, QUOTES / jsonBatchSeconds, QUOTES / ndjsonSeconds);
+  }
+}
@@ -0,0 +1,77 @@
+package com.gpc.exchange.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.storage.DurableExchangeStorage;
+import com.gpc.exchange.storage.FsyncPolicy;
+import com.gpc.exchange.storage.QuoteLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+@Tag("benchmark")
+class LogRecoveryBenchmarkTest {
+
+  private static final int RECORDS = Integer.getInteger("benchmark.records", 10_000_000);
+
+  private static final DataSize SEGMENT_SIZE = DataSize.ofMegabytes(64);
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  void measureRecovery() throws IOException {
+    // Arrange
+    long writeStart = System.nanoTime();
+    try (QuoteLog log = new QuoteLog(directory, SEGMENT_SIZE.toBytes(), FsyncPolicy.NEVER)) {
+      log.open((id, millis, pair, buy, sell) -> { });
+      List<Exchange> batch = new ArrayList<>(10_000);
+      for (int i = 1; i <= RECORDS; i++) {
+        batch.add(new Exchange((long) i, 3.5 + i % 1000 / 10000.0, 3.7 + i % 1000 / 10000.0,
+            START.plusNanos(i * 250_000_000L)));
+        if (batch.size() == 10_000) {
+          log.append(batch);
+          batch.clear();
+        }
+      }
+      log.append(batch);
+    }
+    double writeMillis = (System.nanoTime() - writeStart) / 1e6;
+
+    // Act
+    AtomicLong checksum = new AtomicLong();
+    long replayStart = System.nanoTime();
+    long replayed;
+    try (QuoteLog log = new QuoteLog(directory, SEGMENT_SIZE.toBytes(), FsyncPolicy.NEVER)) {
+      replayed = log.open((id, millis, pair, buy, sell) -> checksum.addAndGet(id));
+    }
+    double replayMillis = (System.nanoTime() - replayStart) / 1e6;
+
+    long recoveryStart = System.nanoTime();
+    DurableExchangeStorage storage = new DurableExchangeStorage(new SimpleMeterRegistry(), directory, SEGMENT_SIZE,
+        FsyncPolicy.NEVER, Duration.ofSeconds(1));
+    storage.initialize().block();
+    double recoveryMillis = (System.nanoTime() - recoveryStart) / 1e6;
+
+    // Assert
+    assertEquals(RECORDS, replayed);
+    assertEquals((long) RECORDS * (RECORDS + 1) / 2, checksum.get());
+    assertEquals(RECORDS, storage.findAll().count().block());
+    storage.close();
+    System.out.printf("Quote log with %,d records: write=%.0f ms, raw replay=%.0f ms (%.1f M records/s), "
+            + "recovery into columns=%.0f ms%n",
+        RECORDS, writeMillis, replayMillis, RECORDS / replayMillis / 1e3, recoveryMillis);
+  }
+}
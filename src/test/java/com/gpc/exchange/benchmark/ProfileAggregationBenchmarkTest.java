@@ -0,0 +1,94 @@
+package com.gpc.exchange.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.repository.ExchangeRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.rsocket.server.port=0")
+class ProfileAggregationBenchmarkTest {
+
+  private static final int ROWS = Integer.getInteger("benchmark.rows", 1_200_000);
+
+  private static final int DAYS = Integer.getInteger("benchmark.days", 12);
+
+  private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+  @Autowired
+  private ExchangeRepository repository;
+
+  @Autowired
+  private DatabaseClient databaseClient;
+
+  @Test
+  void compareListAndSqlAggregation() {
+    // Arrange
+    databaseClient.sql("""
+            INSERT INTO exchange (buy, sell, date_time)
+            SELECT 3.5 + MOD(X, 1000) / 10000.0, 3.7 + MOD(X, 1000) / 10000.0,
+                   DATEADD(SECOND, MOD(X, CAST(:days AS INT)) * 86400 + MOD(X, 86400), CAST(:firstDay AS TIMESTAMP))
+            FROM SYSTEM_RANGE(1, CAST(:rows AS INT))
+            """)
+        .bind("days", DAYS)
+        .bind("firstDay", FIRST_DAY.atStartOfDay())
+        .bind("rows", ROWS)
+        .then()
+        .block();
+
+    LocalDate day = FIRST_DAY.plusDays(DAYS / 2);
+    LocalDateTime start = day.atStartOfDay();
+    LocalDateTime end = day.plusDays(1).atStartOfDay();
+
+    Supplier<double[]> listPath = () -> {
+      List<Exchange> exchanges = repository.findByPairAndDateTimeBetween(Exchange.DEFAULT_PAIR, start, end.minusNanos(1)).collectList().block();
+      return new double[] {
+          exchanges.stream().mapToDouble(Exchange::getBuy).max().orElse(0),
+          exchanges.stream().mapToDouble(Exchange::getBuy).min().orElse(0),
+          exchanges.stream().mapToDouble(Exchange::getBuy).average().orElse(0),
+          exchanges.stream().mapToDouble(Exchange::getSell).max().orElse(0),
+          exchanges.stream().mapToDouble(Exchange::getSell).min().orElse(0),
+          exchanges.stream().mapToDouble(Exchange::getSell).average().orElse(0)
+      };
+    };
+    Supplier<double[]> sqlPath = () -> {
+      DailyAggregate aggregate = repository.aggregateByDateTimeRange(Exchange.DEFAULT_PAIR, start, end).block();
+      return new double[] {
+          aggregate.buyMax(), aggregate.buyMin(), aggregate.buyAverage(),
+          aggregate.sellMax(), aggregate.sellMin(), aggregate.sellAverage()
+      };
+    };
+
+    // Act
+    double listMillis = measure(listPath);
+    double sqlMillis = measure(sqlPath);
+
+    // Assert
+    assertArrayEquals(listPath.get(), sqlPath.get(), 1e-9);
+    System.out.printf("Profile aggregation over %,d rows (%,d per day): list=%.2f ms, sql=%.2f ms, speedup=%.1fx%n",
+        ROWS, ROWS / DAYS, listMillis, sqlMillis, listMillis / sqlMillis);
+  }
+
+  private static double measure(Supplier<double[]> path) {
+    for (int i = 0; i < ITERATIONS / 2; i++) {
+      path.get();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      path.get();
+    }
+    return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+  }
+}
@@ -2,21 +2,32 @@ package com.gpc.exchange.controller;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.gpc.exchange.aggregate.LatestExchange;
+import com.gpc.exchange.dto.DateFilterDTO;
 import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.dto.ExchangePageFilterDTO;
 import com.gpc.exchange.dto.ProfileExchangeDTO;
 import com.gpc.exchange.dto.ProfileFilterDTO;
+import com.gpc.exchange.dto.ProfilesExchangeDTO;
+import com.gpc.exchange.dto.RealtimeFilterDTO;
+import com.gpc.exchange.mapper.ExchangeMapper;
 import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.realtime.ExchangeEvent;
 import com.gpc.exchange.service.ExchangeService;
 import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Objects;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -24,18 +35,18 @@ import reactor.test.StepVerifier;
 
 class ExchangeControllerTest {
 
-  @InjectMocks
   private ExchangeController controller;
 
   @Mock
   private ExchangeService service;
 
   @Mock
-  private ModelMapper modelMapper;
+  private ExchangeMapper exchangeMapper;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    controller = new ExchangeController(service, exchangeMapper, Duration.ofHours(1), 1_000);
   }
 
   @Test
@@ -46,12 +57,12 @@ class ExchangeControllerTest {
     ExchangeDTO exchangeDTO1 = new ExchangeDTO();
     ExchangeDTO exchangeDTO2 = new ExchangeDTO();
 
-    Mockito.when(service.findAll()).thenReturn(Flux.just(exchange1, exchange2));
-    Mockito.when(modelMapper.map(exchange1, ExchangeDTO.class)).thenReturn(exchangeDTO1);
-    Mockito.when(modelMapper.map(exchange2, ExchangeDTO.class)).thenReturn(exchangeDTO2);
+    Mockito.when(service.findPage(null, null, null, null, null)).thenReturn(Flux.just(exchange1, exchange2));
+    Mockito.when(exchangeMapper.toDto(exchange1)).thenReturn(exchangeDTO1);
+    Mockito.when(exchangeMapper.toDto(exchange2)).thenReturn(exchangeDTO2);
 
     // Act
-    Mono<ResponseEntity<Flux<ExchangeDTO>>> response = controller.findAll();
+    Mono<ResponseEntity<Flux<ExchangeDTO>>> response = controller.findAll(new ExchangePageFilterDTO());
 
     // Assert
     StepVerifier.create(response)
@@ -71,9 +82,9 @@ class ExchangeControllerTest {
     ExchangeDTO outputDto = new ExchangeDTO();
     ServerHttpRequest request = Mockito.mock(ServerHttpRequest.class);
 
-    Mockito.when(modelMapper.map(inputDto, Exchange.class)).thenReturn(model);
+    Mockito.when(exchangeMapper.toModel(inputDto)).thenReturn(model);
     Mockito.when(service.save(model)).thenReturn(Mono.just(model));
-    Mockito.when(modelMapper.map(model, ExchangeDTO.class)).thenReturn(outputDto);
+    Mockito.when(exchangeMapper.toDto(model)).thenReturn(outputDto);
     Mockito.when(request.getURI()).thenReturn(URI.create("http://localhost/api/exchange"));
 
     // Act
@@ -88,28 +99,134 @@ class ExchangeControllerTest {
         .verifyComplete();
   }
 
+  @Test
+  void testCreateBatch() {
+    // Arrange
+    ExchangeDTO inputDto1 = new ExchangeDTO();
+    ExchangeDTO inputDto2 = new ExchangeDTO();
+    Exchange model1 = new Exchange();
+    Exchange model2 = new Exchange();
+    ExchangeDTO outputDto1 = new ExchangeDTO();
+    ExchangeDTO outputDto2 = new ExchangeDTO();
+
+    Mockito.when(exchangeMapper.toModel(inputDto1)).thenReturn(model1);
+    Mockito.when(exchangeMapper.toModel(inputDto2)).thenReturn(model2);
+    Mockito.when(service.saveAll(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+    Mockito.when(exchangeMapper.toDto(model1)).thenReturn(outputDto1);
+    Mockito.when(exchangeMapper.toDto(model2)).thenReturn(outputDto2);
+
+    // Act
+    Mono<ResponseEntity<Flux<ExchangeDTO>>> response = controller.createBatch(Flux.just(inputDto1, inputDto2));
+
+    // Assert
+    StepVerifier.create(response)
+        .assertNext(entity -> {
+          assertEquals(HttpStatus.CREATED, entity.getStatusCode());
+          StepVerifier.create(Objects.requireNonNull(entity.getBody()))
+              .expectNext(outputDto1, outputDto2)
+              .verifyComplete();
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void testCreateStream() {
+    // Arrange
+    ExchangeDTO inputDto1 = new ExchangeDTO();
+    ExchangeDTO inputDto2 = new ExchangeDTO();
+    Exchange model1 = new Exchange();
+    Exchange model2 = new Exchange();
+    ExchangeDTO outputDto1 = new ExchangeDTO();
+    ExchangeDTO outputDto2 = new ExchangeDTO();
+
+    Mockito.when(exchangeMapper.toModel(inputDto1)).thenReturn(model1);
+    Mockito.when(exchangeMapper.toModel(inputDto2)).thenReturn(model2);
+    Mockito.when(service.saveAll(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+    Mockito.when(exchangeMapper.toDto(model1)).thenReturn(outputDto1);
+    Mockito.when(exchangeMapper.toDto(model2)).thenReturn(outputDto2);
+
+    // Act
+    Mono<ResponseEntity<Flux<ExchangeDTO>>> response = controller.createStream(Flux.just(inputDto1, inputDto2));
+
+    // Assert
+    StepVerifier.create(response)
+        .assertNext(entity -> {
+          assertEquals(HttpStatus.CREATED, entity.getStatusCode());
+          StepVerifier.create(Objects.requireNonNull(entity.getBody()))
+              .expectNext(outputDto1, outputDto2)
+              .verifyComplete();
+        })
+        .verifyComplete();
+  }
+
   @Test
   void testStreamExchange() {
     // Arrange
     ExchangeDTO exchangeDTO1 = new ExchangeDTO();
     ExchangeDTO exchangeDTO2 = new ExchangeDTO();
 
-    Mockito.when(service.streamExchange()).thenReturn(Flux.just(exchangeDTO1, exchangeDTO2));
+    RealtimeFilterDTO filter = new RealtimeFilterDTO();
+    Mockito.when(service.streamExchangeEvents(filter, 4L))
+        .thenReturn(Flux.just(new ExchangeEvent(5L, exchangeDTO1), new ExchangeEvent(6L, exchangeDTO2)));
+
+    // Act
+    Flux<ServerSentEvent<ExchangeDTO>> response = controller.streamExchange(filter, 4L);
+
+    // Assert
+    StepVerifier.create(response)
+        .assertNext(event -> {
+          assertEquals("5", event.id());
+          assertEquals(exchangeDTO1, event.data());
+        })
+        .assertNext(event -> {
+          assertEquals("6", event.id());
+          assertEquals(exchangeDTO2, event.data());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void testFindLatest() {
+    // Arrange
+    Exchange exchange = new Exchange(1L, 3.50, 3.70, LocalDateTime.parse("2025-05-09T10:20:00"));
+    LatestExchange latest = LatestExchange.of(exchange);
+    ExchangeDTO exchangeDTO = new ExchangeDTO(1L, 3.50, 3.70, exchange.getDateTime());
+
+    Mockito.when(service.findLatest(Exchange.DEFAULT_PAIR)).thenReturn(Mono.just(latest));
+    Mockito.when(exchangeMapper.toDto(latest.exchange())).thenReturn(exchangeDTO);
+
+    // Act
+    Mono<ResponseEntity<ExchangeDTO>> response = controller.findLatest(Exchange.DEFAULT_PAIR);
+
+    // Assert
+    StepVerifier.create(response)
+        .assertNext(entity -> {
+          assertEquals(HttpStatus.OK, entity.getStatusCode());
+          assertEquals(latest.eTag(), entity.getHeaders().getETag());
+          assertEquals(exchangeDTO, entity.getBody());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void testFindLatestEmpty() {
+    // Arrange
+    Mockito.when(service.findLatest(Exchange.DEFAULT_PAIR)).thenReturn(Mono.empty());
 
     // Act
-    Flux<ExchangeDTO> response = controller.streamExchange();
+    Mono<ResponseEntity<ExchangeDTO>> response = controller.findLatest(Exchange.DEFAULT_PAIR);
 
     // Assert
     StepVerifier.create(response)
-        .expectNext(exchangeDTO1, exchangeDTO2)
+        .assertNext(entity -> assertEquals(HttpStatus.NOT_FOUND, entity.getStatusCode()))
         .verifyComplete();
   }
 
   @Test
   void testFindProfileExchange() {
     // Arrange
-    ProfileFilterDTO filterDTO = new ProfileFilterDTO();
-    ProfileExchangeDTO profileExchangeDTO = new ProfileExchangeDTO();
+    ProfileFilterDTO filterDTO = new ProfileFilterDTO("LOW", LocalDate.now(), Exchange.DEFAULT_PAIR);
+    ProfileExchangeDTO profileExchangeDTO = new ProfileExchangeDTO(3.50, 3.70);
 
     Mockito.when(service.findProfileExchange(filterDTO)).thenReturn(Mono.just(profileExchangeDTO));
 
@@ -120,6 +237,31 @@ class ExchangeControllerTest {
     StepVerifier.create(response)
         .assertNext(entity -> {
           assertEquals(profileExchangeDTO, entity.getBody());
+          assertEquals("\"USDPEN:" + filterDTO.getDate() + ":3.5:3.7\"", entity.getHeaders().getETag());
+          assertEquals(CacheControl.noCache().getHeaderValue(), entity.getHeaders().getCacheControl());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void testFindProfilesExchange() {
+    // Arrange
+    DateFilterDTO filterDTO = new DateFilterDTO(LocalDate.of(2025, 5, 9), Exchange.DEFAULT_PAIR);
+    ProfilesExchangeDTO profilesExchangeDTO = new ProfilesExchangeDTO(
+        new ProfileExchangeDTO(3.7, 3.9), new ProfileExchangeDTO(3.6, 3.78), new ProfileExchangeDTO(3.5, 3.7));
+
+    Mockito.when(service.findProfilesExchange(filterDTO)).thenReturn(Mono.just(profilesExchangeDTO));
+
+    // Act
+    Mono<ResponseEntity<ProfilesExchangeDTO>> response = controller.findProfilesExchange(filterDTO);
+
+    // Assert
+    StepVerifier.create(response)
+        .assertNext(entity -> {
+          assertEquals(profilesExchangeDTO, entity.getBody());
+          assertEquals("\"USDPEN:2025-05-09:3.7:3.9:3.6:3.78:3.5:3.7\"", entity.getHeaders().getETag());
+          assertEquals(CacheControl.maxAge(Duration.ofHours(1)).getHeaderValue(),
+              entity.getHeaders().getCacheControl());
         })
         .verifyComplete();
   }
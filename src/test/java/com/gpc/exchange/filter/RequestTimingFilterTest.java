@@ -0,0 +1,86 @@
+package com.gpc.exchange.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class RequestTimingFilterTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final RequestTimingFilter filter = new RequestTimingFilter(registry);
+
+  @Test
+  void testRecordsLatencyPerRouteAndStatus() {
+    // Arrange
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/exchange/profile/search"));
+    AtomicReference<Double> activeDuringRequest = new AtomicReference<>();
+
+    // Act
+    StepVerifier.create(filter.filter(exchange, webExchange -> {
+          activeDuringRequest.set(registry.get("exchange.http.requests.active").gauge().value());
+          webExchange.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+              PathPatternParser.defaultInstance.parse("/api/exchange/profile/search"));
+          webExchange.getResponse().setStatusCode(HttpStatus.OK);
+          return Mono.empty();
+        }))
+        .verifyComplete();
+
+    // Assert
+    Timer timer = registry.get("exchange.http.requests")
+        .tags("method", "GET", "route", "/api/exchange/profile/search", "status", "200")
+        .timer();
+    assertEquals(1, timer.count());
+    assertEquals(1.0, activeDuringRequest.get());
+    assertEquals(0.0, registry.get("exchange.http.requests.active").gauge().value());
+  }
+
+  @Test
+  void testRecordsErrorStatus() {
+    // Arrange
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/exchange"));
+
+    // Act
+    StepVerifier.create(filter.filter(exchange,
+            webExchange -> Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST))))
+        .verifyError(ResponseStatusException.class);
+
+    // Assert
+    Timer timer = registry.get("exchange.http.requests")
+        .tags("method", "POST", "route", "UNKNOWN", "status", "400")
+        .timer();
+    assertEquals(1, timer.count());
+  }
+
+  @Test
+  void testRecordsTheStatusTheErrorHandlerSends() {
+    // Arrange
+    MockServerWebExchange unsupported = MockServerWebExchange.from(MockServerHttpRequest.put("/api/exchange"));
+    MockServerWebExchange failed = MockServerWebExchange.from(MockServerHttpRequest.put("/api/exchange"));
+
+    // Act
+    StepVerifier.create(filter.filter(unsupported,
+            webExchange -> Mono.error(new MethodNotAllowedException(HttpMethod.PUT, List.of(HttpMethod.GET)))))
+        .verifyError(MethodNotAllowedException.class);
+    StepVerifier.create(filter.filter(failed, webExchange -> Mono.error(new IllegalStateException())))
+        .verifyError(IllegalStateException.class);
+
+    // Assert
+    assertEquals(1, registry.get("exchange.http.requests").tags("method", "PUT", "status", "418").timer().count());
+    assertEquals(1, registry.get("exchange.http.requests").tags("method", "PUT", "status", "500").timer().count());
+  }
+}
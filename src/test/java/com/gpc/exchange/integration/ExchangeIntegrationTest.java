@@ -2,23 +2,42 @@ package com.gpc.exchange.integration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.gpc.exchange.aggregate.LatestExchange;
 import com.gpc.exchange.controller.ExchangeController;
+import com.gpc.exchange.dto.CandleDTO;
+import com.gpc.exchange.dto.CandleFilterDTO;
 import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.dto.OhlcDTO;
 import com.gpc.exchange.dto.ProfileExchangeDTO;
+import com.gpc.exchange.dto.ProfilesExchangeDTO;
+import com.gpc.exchange.dto.RealtimeFilterDTO;
+import com.gpc.exchange.dto.SubscriberStatsDTO;
 import com.gpc.exchange.integration.mock.ExchangeMock;
+import com.gpc.exchange.mapper.ExchangeMapper;
 import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.realtime.ExchangeEvent;
+import com.gpc.exchange.realtime.OverflowPolicy;
+import com.gpc.exchange.repository.ExchangeCursor;
 import com.gpc.exchange.service.ExchangeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -29,6 +48,7 @@ import reactor.test.StepVerifier;
 
 @ExtendWith(SpringExtension.class)
 @WebFluxTest(ExchangeController.class)
+@Import(SimpleMeterRegistry.class)
 class ExchangeIntegrationTest {
 
   @Autowired
@@ -38,7 +58,7 @@ class ExchangeIntegrationTest {
   private ExchangeService service;
 
   @MockitoBean
-  private ModelMapper modelMapper;
+  private ExchangeMapper exchangeMapper;
 
   @MockitoBean
   private WebProperties.Resources resources;
@@ -56,9 +76,9 @@ class ExchangeIntegrationTest {
     ExchangeDTO exchangeDTO1 = new ExchangeDTO();
     ExchangeDTO exchangeDTO2 = new ExchangeDTO();
 
-    Mockito.when(service.findAll()).thenReturn(Flux.just(exchange1, exchange2));
-    Mockito.when(modelMapper.map(exchange1, ExchangeDTO.class)).thenReturn(exchangeDTO1);
-    Mockito.when(modelMapper.map(exchange2, ExchangeDTO.class)).thenReturn(exchangeDTO2);
+    Mockito.when(service.findPage(null, null, null, null, null)).thenReturn(Flux.just(exchange1, exchange2));
+    Mockito.when(exchangeMapper.toDto(exchange1)).thenReturn(exchangeDTO1);
+    Mockito.when(exchangeMapper.toDto(exchange2)).thenReturn(exchangeDTO2);
 
     // Act & Assert
     webTestClient.get()
@@ -67,6 +87,7 @@ class ExchangeIntegrationTest {
         .exchange()
         .expectStatus().isOk()
         .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectHeader().doesNotExist("X-Next-Cursor")
         .expectBodyList(ExchangeDTO.class)
         .value(response -> {
           StepVerifier.create(Flux.fromIterable(response))
@@ -75,6 +96,166 @@ class ExchangeIntegrationTest {
         });
   }
 
+  @Test
+  void testFindAllNextPage() {
+    // Arrange
+    LocalDateTime from = LocalDateTime.parse("2025-05-09T00:00:00");
+    LocalDateTime to = LocalDateTime.parse("2025-05-10T00:00:00");
+    ExchangeCursor after = new ExchangeCursor(LocalDateTime.parse("2025-05-09T10:20:00"), 1L);
+    Exchange exchange2 = new Exchange(2L, 3.55, 3.70, LocalDateTime.parse("2025-05-09T10:30:00"));
+    Exchange exchange3 = new Exchange(3L, 3.60, 3.80, LocalDateTime.parse("2025-05-09T10:40:00"));
+    Exchange exchange4 = new Exchange(4L, 3.65, 3.80, LocalDateTime.parse("2025-05-09T11:45:00"));
+    ExchangeDTO exchangeDTO2 = new ExchangeDTO(2L, 3.55, 3.70, exchange2.getDateTime());
+    ExchangeDTO exchangeDTO3 = new ExchangeDTO(3L, 3.60, 3.80, exchange3.getDateTime());
+
+    Mockito.when(service.findPage(null, after, from, to, 3)).thenReturn(Flux.just(exchange2, exchange3, exchange4));
+    Mockito.when(exchangeMapper.toDto(exchange2)).thenReturn(exchangeDTO2);
+    Mockito.when(exchangeMapper.toDto(exchange3)).thenReturn(exchangeDTO3);
+
+    // Act & Assert
+    webTestClient.get()
+        .uri(uri -> uri.path("/api/exchange")
+            .queryParam("cursor", after.encode())
+            .queryParam("limit", 2)
+            .queryParam("from", "2025-05-09T00:00:00")
+            .queryParam("to", "2025-05-10T00:00:00")
+            .build())
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals("X-Next-Cursor", ExchangeCursor.of(exchange3).encode())
+        .expectBodyList(ExchangeDTO.class)
+        .isEqualTo(List.of(exchangeDTO2, exchangeDTO3));
+  }
+
+  @Test
+  void testFindAllCursorWithoutLimitUsesDefaultPageSize() {
+    // Arrange
+    ExchangeCursor after = new ExchangeCursor(LocalDateTime.parse("2025-05-09T10:20:00"), 1L);
+    Exchange exchange2 = new Exchange(2L, 3.55, 3.70, LocalDateTime.parse("2025-05-09T10:30:00"));
+    ExchangeDTO exchangeDTO2 = new ExchangeDTO(2L, 3.55, 3.70, exchange2.getDateTime());
+
+    Mockito.when(service.findPage(null, after, null, null, 101)).thenReturn(Flux.just(exchange2));
+    Mockito.when(exchangeMapper.toDto(exchange2)).thenReturn(exchangeDTO2);
+
+    // Act & Assert
+    webTestClient.get()
+        .uri(uri -> uri.path("/api/exchange").queryParam("cursor", after.encode()).build())
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().doesNotExist("X-Next-Cursor")
+        .expectBodyList(ExchangeDTO.class)
+        .isEqualTo(List.of(exchangeDTO2));
+  }
+
+  @Test
+  void testFindAllInvalidCursor() {
+    webTestClient.get()
+        .uri("/api/exchange?cursor=bm90LWEtY3Vyc29y")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void testFindAllInvalidLimit() {
+    webTestClient.get()
+        .uri("/api/exchange?limit=0")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void testStreamAllNdjson() {
+    // Arrange
+    Exchange exchange1 = new Exchange(1L, 3.50, 3.70, LocalDateTime.parse("2025-05-09T10:20:00"));
+    Exchange exchange2 = new Exchange(2L, 3.55, 3.70, LocalDateTime.parse("2025-05-09T10:30:00"));
+    ExchangeDTO exchangeDTO1 = new ExchangeDTO(1L, 3.50, 3.70, exchange1.getDateTime());
+    ExchangeDTO exchangeDTO2 = new ExchangeDTO(2L, 3.55, 3.70, exchange2.getDateTime());
+
+    Mockito.when(service.findPage(null, null, null, null, null)).thenReturn(Flux.just(exchange1, exchange2));
+    Mockito.when(exchangeMapper.toDto(exchange1)).thenReturn(exchangeDTO1);
+    Mockito.when(exchangeMapper.toDto(exchange2)).thenReturn(exchangeDTO2);
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .returnResult(ExchangeDTO.class)
+        .getResponseBody()
+        .as(StepVerifier::create)
+        .expectNext(exchangeDTO1, exchangeDTO2)
+        .verifyComplete();
+  }
+
+  @Test
+  void testFindLatestNotModified() {
+    // Arrange
+    Exchange exchange = new Exchange(1L, 3.50, 3.70, LocalDateTime.parse("2025-05-09T10:20:00"));
+    LatestExchange latest = LatestExchange.of(exchange);
+    ExchangeDTO exchangeDTO = new ExchangeDTO(1L, 3.50, 3.70, exchange.getDateTime());
+
+    Mockito.when(service.findLatest(Exchange.DEFAULT_PAIR)).thenReturn(Mono.just(latest));
+    Mockito.when(exchangeMapper.toDto(latest.exchange())).thenReturn(exchangeDTO);
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/latest")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals("ETag", latest.eTag())
+        .expectHeader().cacheControl(CacheControl.noCache())
+        .expectBody(ExchangeDTO.class)
+        .isEqualTo(exchangeDTO);
+
+    webTestClient.get()
+        .uri("/api/exchange/latest")
+        .accept(MediaType.APPLICATION_JSON)
+        .ifNoneMatch(latest.eTag())
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectHeader().valueEquals("ETag", latest.eTag())
+        .expectBody().isEmpty();
+  }
+
+  @Test
+  void testFindLatestForPair() {
+    // Arrange
+    Exchange exchange = new Exchange(1L, "EURPEN", 4.00, 4.20, LocalDateTime.parse("2025-05-09T10:20:00"));
+    LatestExchange latest = LatestExchange.of(exchange);
+    ExchangeDTO exchangeDTO = new ExchangeDTO(1L, "EURPEN", 4.00, 4.20, exchange.getDateTime());
+
+    Mockito.when(service.findLatest("EURPEN")).thenReturn(Mono.just(latest));
+    Mockito.when(exchangeMapper.toDto(latest.exchange())).thenReturn(exchangeDTO);
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/latest?pair=EURPEN")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(ExchangeDTO.class)
+        .isEqualTo(exchangeDTO);
+  }
+
+  @Test
+  void testFindLatestEmpty() {
+    // Arrange
+    Mockito.when(service.findLatest(Exchange.DEFAULT_PAIR)).thenReturn(Mono.empty());
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/latest")
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
   @Test
   void testCreate() {
     // Arrange
@@ -96,7 +277,7 @@ class ExchangeIntegrationTest {
     outputDto.setSell(200.0);
 
     Mockito.when(service.save(Mockito.any())).thenReturn(Mono.just(model));
-    Mockito.when(modelMapper.map(model, ExchangeDTO.class)).thenReturn(outputDto);
+    Mockito.when(exchangeMapper.toDto(model)).thenReturn(outputDto);
 
     // Act & Assert
     webTestClient.post()
@@ -115,13 +296,136 @@ class ExchangeIntegrationTest {
         });
   }
 
+  @Test
+  void testCreateBatch() {
+    // Arrange
+    String body = """
+        [
+          {"buy": 3.50, "sell": 3.70, "dateTime": "2025-05-09T10:20:00"},
+          {"buy": 3.55, "sell": 3.75, "dateTime": "2025-05-09T10:30:00.5"}
+        ]
+        """;
+    Exchange model = new Exchange(1L, 3.50, 3.70, LocalDateTime.parse("2025-05-09T10:20:00"));
+    ExchangeDTO outputDto = new ExchangeDTO(1L, 3.50, 3.70, LocalDateTime.parse("2025-05-09T10:20:00"));
+
+    Mockito.when(exchangeMapper.toModel(Mockito.any(ExchangeDTO.class))).thenReturn(model);
+    Mockito.when(service.saveAll(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+    Mockito.when(exchangeMapper.toDto(model)).thenReturn(outputDto);
+
+    // Act & Assert
+    webTestClient.post()
+        .uri("/api/exchange/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .exchange()
+        .expectStatus().isCreated()
+        .expectBodyList(ExchangeDTO.class)
+        .hasSize(2)
+        .contains(outputDto);
+  }
+
+  @Test
+  void testCreateBatchRejectsOversizeArray() {
+    // Arrange
+    String quote = "{\"buy\": 3.50, \"sell\": 3.70, \"dateTime\": \"2025-05-09T10:20:00\"}";
+    String body = "[" + String.join(",", Collections.nCopies(1_001, quote)) + "]";
+    Mockito.when(exchangeMapper.toModel(Mockito.any(ExchangeDTO.class)))
+        .thenReturn(new Exchange(null, 3.50, 3.70, LocalDateTime.parse("2025-05-09T10:20:00")));
+
+    // Act & Assert
+    webTestClient.post()
+        .uri("/api/exchange/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+
+    Mockito.verify(service, Mockito.never()).saveAll(Mockito.any());
+  }
+
+  @Test
+  void testCreateBatchNdjson() {
+    // Arrange
+    String body = """
+        {"buy": 3.50, "sell": 3.70, "dateTime": "2025-05-09T10:20:00"}
+        {"buy": 3.55, "sell": 3.75, "dateTime": "2025-05-09T10:30:00"}
+        {"buy": 3.60, "sell": 3.80, "dateTime": "2025-05-09T10:40:00"}
+        """;
+    Exchange model = new Exchange(1L, 3.50, 3.70, LocalDateTime.parse("2025-05-09T10:20:00"));
+    ExchangeDTO outputDto = new ExchangeDTO(1L, 3.50, 3.70, LocalDateTime.parse("2025-05-09T10:20:00"));
+
+    Mockito.when(exchangeMapper.toModel(Mockito.any(ExchangeDTO.class))).thenReturn(model);
+    Mockito.when(service.saveAll(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+    Mockito.when(exchangeMapper.toDto(model)).thenReturn(outputDto);
+
+    // Act & Assert
+    webTestClient.post()
+        .uri("/api/exchange/batch")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .accept(MediaType.APPLICATION_NDJSON)
+        .bodyValue(body)
+        .exchange()
+        .expectStatus().isCreated()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .returnResult(ExchangeDTO.class)
+        .getResponseBody()
+        .as(StepVerifier::create)
+        .expectNext(outputDto, outputDto, outputDto)
+        .verifyComplete();
+  }
+
+  @Test
+  void testCreateBatchInvalidElement() {
+    // Arrange
+    String body = """
+        [
+          {"buy": 3.50, "sell": 3.70, "dateTime": "2025-05-09T10:20:00"},
+          {"buy": 3.55, "dateTime": "2025-05-09T10:30:00"}
+        ]
+        """;
+
+    Exchange model = new Exchange();
+
+    Mockito.when(exchangeMapper.toModel(Mockito.any(ExchangeDTO.class))).thenReturn(model);
+    Mockito.when(service.saveAll(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+    Mockito.when(exchangeMapper.toDto(model)).thenReturn(new ExchangeDTO());
+
+    // Act & Assert
+    webTestClient.post()
+        .uri("/api/exchange/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void testCreateInvalidPair() {
+    // Act & Assert
+    webTestClient.post()
+        .uri("/api/exchange")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .bodyValue("""
+            {"pair": "usd-pen", "buy": 3.50, "sell": 3.70, "dateTime": "2025-05-09T10:20:00"}
+            """)
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    Mockito.verify(service, Mockito.never()).save(Mockito.any());
+  }
+
   @Test
   void testStreamExchange() {
     // Arrange
     ExchangeDTO exchangeDTO1 = new ExchangeDTO(1L, 100.0, 200.0, LocalDateTime.parse("2025-05-09T14:29:07"));
     ExchangeDTO exchangeDTO2 = new ExchangeDTO(2L, 150.0, 250.0, LocalDateTime.parse("2025-05-09T14:30:07"));
 
-    Mockito.when(service.streamExchange()).thenReturn(Flux.just(exchangeDTO1, exchangeDTO2));
+    Mockito.when(service.streamExchangeEvents(new RealtimeFilterDTO(), null))
+        .thenReturn(Flux.just(new ExchangeEvent(1L, exchangeDTO1), new ExchangeEvent(2L, exchangeDTO2)));
 
     // Act & Assert
     webTestClient.get()
@@ -137,6 +441,104 @@ class ExchangeIntegrationTest {
         .verifyComplete();
   }
 
+  @Test
+  void testStreamExchangeWithOverflowPolicy() {
+    // Arrange
+    ExchangeDTO exchangeDTO = new ExchangeDTO(1L, 100.0, 200.0, LocalDateTime.parse("2025-05-09T14:29:07"));
+
+    Mockito.when(service.streamExchangeEvents(
+        new RealtimeFilterDTO(Exchange.DEFAULT_PAIR, OverflowPolicy.LATEST, null, null, null), null))
+        .thenReturn(Flux.just(new ExchangeEvent(1L, exchangeDTO)));
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/realtime?overflow=LATEST")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(ExchangeDTO.class)
+        .getResponseBody()
+        .as(StepVerifier::create)
+        .expectNext(exchangeDTO)
+        .verifyComplete();
+  }
+
+  @Test
+  void testStreamExchangeWithFilter() {
+    // Arrange
+    ExchangeDTO exchangeDTO = new ExchangeDTO(1L, 100.0, 200.0, LocalDateTime.parse("2025-05-09T14:29:07"));
+    RealtimeFilterDTO filter = new RealtimeFilterDTO(Exchange.DEFAULT_PAIR, null, Duration.ofSeconds(1), 0.05, 0.02);
+
+    Mockito.when(service.streamExchangeEvents(filter, null))
+        .thenReturn(Flux.just(new ExchangeEvent(1L, exchangeDTO)));
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/realtime?sample=1s&minChange=0.05&minSpreadChange=0.02")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(ExchangeDTO.class)
+        .getResponseBody()
+        .as(StepVerifier::create)
+        .expectNext(exchangeDTO)
+        .verifyComplete();
+  }
+
+  @Test
+  void testStreamExchangeInvalidFilter() {
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/realtime?minChange=-0.05")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    Mockito.verify(service, Mockito.never()).streamExchangeEvents(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void testStreamExchangeResumesFromLastEventId() {
+    // Arrange
+    ExchangeDTO exchangeDTO = new ExchangeDTO(8L, 100.0, 200.0, LocalDateTime.parse("2025-05-09T14:29:07"));
+
+    Mockito.when(service.streamExchangeEvents(new RealtimeFilterDTO(), 7L))
+        .thenReturn(Flux.just(new ExchangeEvent(8L, exchangeDTO)));
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/realtime")
+        .header("Last-Event-ID", "7")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(new ParameterizedTypeReference<ServerSentEvent<ExchangeDTO>>() {})
+        .getResponseBody()
+        .as(StepVerifier::create)
+        .assertNext(event -> {
+          assertEquals("8", event.id());
+          assertEquals(exchangeDTO, event.data());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void testFindRealtimeSubscribers() {
+    // Arrange
+    SubscriberStatsDTO stats = new SubscriberStatsDTO(1L, Exchange.DEFAULT_PAIR, "LATEST", 10L, 0L, 4L, 0L);
+
+    Mockito.when(service.findRealtimeSubscribers()).thenReturn(Flux.just(stats));
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/realtime/subscribers")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(SubscriberStatsDTO.class)
+        .contains(stats);
+  }
+
   @Test
   void testFindProfileExchange() {
     // Arrange
@@ -156,4 +558,92 @@ class ExchangeIntegrationTest {
           assertEquals(profileExchangeDTO, response);
         });
   }
-}
\ No newline at end of file
+
+  @Test
+  void testFindProfilesExchange() {
+    // Arrange
+    ProfilesExchangeDTO profilesExchangeDTO = new ProfilesExchangeDTO(
+        new ProfileExchangeDTO(3.7, 3.9), new ProfileExchangeDTO(3.6, 3.78), new ProfileExchangeDTO(3.5, 3.7));
+
+    Mockito.when(service.findProfilesExchange(Mockito.any())).thenReturn(Mono.just(profilesExchangeDTO));
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/profile/all?date=2025-05-09")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody(ProfilesExchangeDTO.class)
+        .value(response -> {
+          assertEquals(profilesExchangeDTO, response);
+        });
+  }
+
+  @Test
+  void testFindProfilesExchangeClosedDayNotModified() {
+    // Arrange
+    ProfilesExchangeDTO profilesExchangeDTO = new ProfilesExchangeDTO(
+        new ProfileExchangeDTO(3.7, 3.9), new ProfileExchangeDTO(3.6, 3.78), new ProfileExchangeDTO(3.5, 3.7));
+    String eTag = "\"USDPEN:2025-05-09:3.7:3.9:3.6:3.78:3.5:3.7\"";
+
+    Mockito.when(service.findProfilesExchange(Mockito.any())).thenReturn(Mono.just(profilesExchangeDTO));
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/profile/all?date=2025-05-09")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals("ETag", eTag)
+        .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofHours(1)));
+
+    webTestClient.get()
+        .uri("/api/exchange/profile/all?date=2025-05-09")
+        .accept(MediaType.APPLICATION_JSON)
+        .ifNoneMatch(eTag)
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectBody().isEmpty();
+  }
+
+  @Test
+  void testFindProfilesExchangeWithoutDate() {
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/profile/all")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void testFindCandles() {
+    // Arrange
+    LocalDateTime start = LocalDateTime.parse("2025-05-09T10:00:00");
+    CandleDTO candle = new CandleDTO(start, 3, new OhlcDTO(3.5, 3.6, 3.4, 3.4), new OhlcDTO(3.7, 3.8, 3.6, 3.6));
+    CandleFilterDTO filter = new CandleFilterDTO("5m", start, start.plusHours(1), Exchange.DEFAULT_PAIR);
+
+    Mockito.when(service.findCandles(filter)).thenReturn(Flux.just(candle));
+
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/candles?interval=5m&from=2025-05-09T10:00:00&to=2025-05-09T11:00:00")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBodyList(CandleDTO.class)
+        .isEqualTo(List.of(candle));
+  }
+
+  @Test
+  void testFindCandlesInvalidInterval() {
+    // Act & Assert
+    webTestClient.get()
+        .uri("/api/exchange/candles?interval=2m&from=2025-05-09T10:00:00&to=2025-05-09T11:00:00")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+}
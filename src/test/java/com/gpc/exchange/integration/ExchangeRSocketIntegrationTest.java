@@ -0,0 +1,131 @@
+package com.gpc.exchange.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.dto.DateFilterDTO;
+import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.dto.ProfileExchangeDTO;
+import com.gpc.exchange.dto.ProfileFilterDTO;
+import com.gpc.exchange.dto.ProfilesExchangeDTO;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.service.ExchangeService;
+import io.rsocket.exceptions.ApplicationErrorException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(properties = "spring.rsocket.server.port=0")
+class ExchangeRSocketIntegrationTest {
+
+  private static final LocalDate DATE = LocalDate.of(2025, 5, 9);
+
+  @LocalRSocketServerPort
+  private int port;
+
+  @Autowired
+  private RSocketRequester.Builder requesterBuilder;
+
+  @MockitoBean
+  private ExchangeService service;
+
+  private RSocketRequester requester;
+
+  @BeforeEach
+  void setUp() {
+    requester = requesterBuilder.tcp("localhost", port);
+  }
+
+  @AfterEach
+  void tearDown() {
+    requester.dispose();
+  }
+
+  @Test
+  void testStreamExchangeFollowsClientDemand() {
+    // Arrange
+    List<Long> requested = new CopyOnWriteArrayList<>();
+    Flux<ExchangeDTO> quotes = Flux.range(1, 1_000)
+        .map(i -> new ExchangeDTO((long) i, 3.50, 3.70, DATE.atStartOfDay().plusSeconds(i)))
+        .doOnRequest(requested::add);
+    Mockito.when(service.streamExchange(Exchange.DEFAULT_PAIR)).thenReturn(quotes);
+
+    // Act & Assert
+    StepVerifier.create(requester.route("exchange.realtime").retrieveFlux(ExchangeDTO.class), 0)
+        .thenRequest(2)
+        .assertNext(exchange -> assertEquals(1L, exchange.getId()))
+        .assertNext(exchange -> assertEquals(2L, exchange.getId()))
+        .then(() -> assertEquals(2L, requested.stream().mapToLong(Long::longValue).sum()))
+        .thenRequest(3)
+        .expectNextCount(3)
+        .then(() -> assertEquals(5L, requested.stream().mapToLong(Long::longValue).sum()))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testFindProfileExchange() {
+    // Arrange
+    ProfileFilterDTO filter = new ProfileFilterDTO("LOW", DATE, Exchange.DEFAULT_PAIR);
+    Mockito.when(service.findProfileExchange(filter)).thenReturn(Mono.just(new ProfileExchangeDTO(3.70, 3.90)));
+
+    // Act & Assert
+    StepVerifier.create(requester.route("exchange.profile").data(filter).retrieveMono(ProfileExchangeDTO.class))
+        .expectNext(new ProfileExchangeDTO(3.70, 3.90))
+        .verifyComplete();
+  }
+
+  @Test
+  void testFindProfilesExchange() {
+    // Arrange
+    DateFilterDTO filter = new DateFilterDTO(DATE, Exchange.DEFAULT_PAIR);
+    ProfilesExchangeDTO profiles = new ProfilesExchangeDTO(new ProfileExchangeDTO(3.70, 3.90),
+        new ProfileExchangeDTO(3.60, 3.80), new ProfileExchangeDTO(3.50, 3.70));
+    Mockito.when(service.findProfilesExchange(filter)).thenReturn(Mono.just(profiles));
+
+    // Act & Assert
+    StepVerifier.create(requester.route("exchange.profiles").data(filter).retrieveMono(ProfilesExchangeDTO.class))
+        .expectNext(profiles)
+        .verifyComplete();
+  }
+
+  @Test
+  void testFindProfileExchangeInvalidPayload() {
+    // Arrange
+    ProfileFilterDTO filter = new ProfileFilterDTO("UNKNOWN", DATE, Exchange.DEFAULT_PAIR);
+
+    // Act & Assert
+    StepVerifier.create(requester.route("exchange.profile").data(filter).retrieveMono(ProfileExchangeDTO.class))
+        .expectErrorSatisfies(error -> {
+          assertInstanceOf(ApplicationErrorException.class, error);
+          assertEquals("El campo profile debe ser 'LOW' o 'MEDIUM' o 'HIGH' o 'MEDIAN' o 'P90' o 'P99'", error.getMessage());
+        })
+        .verify();
+    Mockito.verify(service, Mockito.never()).findProfileExchange(Mockito.any());
+  }
+
+  @Test
+  void testStreamExchangeInvalidPair() {
+    // Act & Assert
+    StepVerifier.create(requester.route("exchange.realtime.usd-pen").retrieveFlux(ExchangeDTO.class))
+        .expectErrorSatisfies(error -> {
+          assertInstanceOf(ApplicationErrorException.class, error);
+          assertEquals("El campo pair debe ser un par de divisas de seis letras mayúsculas, por ejemplo 'USDPEN'",
+              error.getMessage());
+        })
+        .verify();
+    Mockito.verify(service, Mockito.never()).streamExchange(Mockito.any());
+  }
+}
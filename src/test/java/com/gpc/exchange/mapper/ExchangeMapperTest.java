@@ -0,0 +1,39 @@
+package com.gpc.exchange.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.model.Exchange;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class ExchangeMapperTest {
+
+  private final ExchangeMapper mapper = new ExchangeMapper();
+
+  @Test
+  void testToDto() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    Exchange model = new Exchange(1L, 3.5, 3.7, now);
+
+    // Act
+    ExchangeDTO dto = mapper.toDto(model);
+
+    // Assert
+    assertEquals(new ExchangeDTO(1L, 3.5, 3.7, now), dto);
+  }
+
+  @Test
+  void testToModel() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    ExchangeDTO dto = new ExchangeDTO(null, 3.5, 3.7, now);
+
+    // Act
+    Exchange model = mapper.toModel(dto);
+
+    // Assert
+    assertEquals(new Exchange(null, 3.5, 3.7, now), model);
+  }
+}
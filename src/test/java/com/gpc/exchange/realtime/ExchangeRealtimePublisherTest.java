@@ -0,0 +1,216 @@
+package com.gpc.exchange.realtime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.model.Exchange;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class ExchangeRealtimePublisherTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.now();
+
+  private final ExchangeRealtimePublisher publisher = new ExchangeRealtimePublisher(OverflowPolicy.BUFFER, 2, 4);
+
+  @Test
+  void testBufferDropsNewestWhenFull() {
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, null, null), 0)
+        .expectSubscription()
+        .then(() -> publishQuotes(5))
+        .then(() -> assertStats(OverflowPolicy.BUFFER, 3, 0))
+        .thenRequest(5)
+        .expectNext(event(1), event(2))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testDropOldestKeepsNewest() {
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, OverflowPolicy.DROP_OLDEST, null), 0)
+        .expectSubscription()
+        .then(() -> publishQuotes(5))
+        .then(() -> assertStats(OverflowPolicy.DROP_OLDEST, 3, 0))
+        .thenRequest(5)
+        .expectNext(event(4), event(5))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testLatestConflatesToLastQuote() {
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, OverflowPolicy.LATEST, null), 0)
+        .expectSubscription()
+        .then(() -> publishQuotes(5))
+        .then(() -> assertStats(OverflowPolicy.LATEST, 0, 4))
+        .thenRequest(5)
+        .expectNext(event(5))
+        .thenCancel()
+        .verify();
+
+    assertTrue(publisher.getSubscribers().isEmpty());
+  }
+
+  @Test
+  void testSlowSubscriberDoesNotStallOthers() {
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, OverflowPolicy.LATEST, null), 0)
+        .expectSubscription()
+        .then(() -> StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, OverflowPolicy.BUFFER, null))
+            .then(() -> publishQuotes(3))
+            .expectNext(event(1), event(2), event(3))
+            .thenCancel()
+            .verify())
+        .thenRequest(1)
+        .expectNext(event(3))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testReplayFromLastEventIdThenLive() {
+    // Arrange
+    publishQuotes(3);
+
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, null, 1L))
+        .expectNext(event(2), event(3))
+        .then(() -> publisher.publish(quote(4)))
+        .expectNext(event(4))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testReplayOnlyKeepsRingBufferCapacity() {
+    // Arrange
+    publishQuotes(10);
+
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, null, 2L))
+        .expectNext(event(7), event(8), event(9), event(10))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testUnknownLastEventIdReplaysBuffer() {
+    // Arrange
+    publishQuotes(2);
+
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, null, 99L))
+        .expectNext(event(1), event(2))
+        .then(() -> publisher.publish(quote(3)))
+        .expectNext(event(3))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testSubscriberOnlyReceivesItsPair() {
+    // Arrange
+    ExchangeDTO otherPair = new ExchangeDTO(1L, "EURPEN", 4.0, 4.2, NOW);
+
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, null, null))
+        .then(() -> publisher.publish(otherPair))
+        .then(() -> publisher.publish(quote(2)))
+        .expectNext(new ExchangeEvent(1, quote(2)))
+        .thenCancel()
+        .verify();
+    StepVerifier.create(publisher.subscribe("EURPEN", null, 0L))
+        .expectNext(new ExchangeEvent(1, otherPair))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testSubscribingToPairWithoutQuotesWaitsForItsFirstQuote() {
+    // Arrange
+    ExchangeDTO first = new ExchangeDTO(1L, "GBPPEN", 4.5, 4.7, NOW);
+
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe("GBPPEN", null, null))
+        .then(() -> assertFalse(publisher.hasChannel("GBPPEN")))
+        .then(() -> publisher.publish(first))
+        .expectNext(new ExchangeEvent(1, first))
+        .thenCancel()
+        .verify();
+    assertTrue(publisher.hasChannel("GBPPEN"));
+  }
+
+  @Test
+  void testThresholdsOnlyPassQuotesThatMovedSinceLastSent() {
+    // Arrange
+    RealtimeFilter filter = new RealtimeFilter(null, 0.05, 0.03);
+    ExchangeDTO first = quote(1, 3.50, 3.70);
+    ExchangeDTO buyMoved = quote(4, 3.55, 3.75);
+    ExchangeDTO spreadMoved = quote(5, 3.55, 3.78);
+
+    // Act & Assert
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, null, filter, null))
+        .then(() -> {
+          publisher.publish(first);
+          publisher.publish(quote(2, 3.53, 3.73));
+          publisher.publish(quote(3, 3.46, 3.66));
+          publisher.publish(buyMoved);
+          publisher.publish(spreadMoved);
+        })
+        .expectNext(new ExchangeEvent(1, first), new ExchangeEvent(4, buyMoved), new ExchangeEvent(5, spreadMoved))
+        .then(() -> assertEquals(2, publisher.getSubscribers().iterator().next().getFiltered().get()))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testSampleSendsLatestQuoteOfEachInterval() {
+    // Arrange
+    RealtimeFilter filter = new RealtimeFilter(Duration.ofSeconds(1), null, null);
+
+    // Act & Assert
+    StepVerifier.withVirtualTime(() -> publisher.subscribe(Exchange.DEFAULT_PAIR, null, filter, null))
+        .expectSubscription()
+        .then(() -> publishQuotes(3))
+        .thenAwait(Duration.ofSeconds(1))
+        .expectNext(event(3))
+        .then(() -> publisher.publish(quote(4)))
+        .thenAwait(Duration.ofSeconds(1))
+        .expectNext(event(4))
+        .thenAwait(Duration.ofSeconds(1))
+        .expectNoEvent(Duration.ofSeconds(1))
+        .thenCancel()
+        .verify();
+  }
+
+  private void publishQuotes(int count) {
+    LongStream.rangeClosed(1, count).forEach(id -> publisher.publish(quote(id)));
+  }
+
+  private void assertStats(OverflowPolicy policy, long dropped, long conflated) {
+    SubscriberStats stats = publisher.getSubscribers().stream()
+        .filter(subscriber -> subscriber.getPolicy() == policy)
+        .findFirst()
+        .orElseThrow();
+    assertEquals(dropped, stats.getDropped().get());
+    assertEquals(conflated, stats.getConflated().get());
+  }
+
+  private static ExchangeEvent event(long id) {
+    return new ExchangeEvent(id, quote(id));
+  }
+
+  private static ExchangeDTO quote(long id) {
+    return quote(id, 3.5, 3.7);
+  }
+
+  private static ExchangeDTO quote(long id, double buy, double sell) {
+    return new ExchangeDTO(id, buy, sell, NOW);
+  }
+}
@@ -0,0 +1,116 @@
+package com.gpc.exchange.realtime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.model.Exchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.test.StepVerifier;
+
+class QuoteFanOutTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 9, 10, 0);
+
+  @Test
+  void testQuoteSavedOnOneNodeReachesSubscribersOfEveryNode() {
+    // Arrange
+    LoopbackQuoteBroadcast loopback = new LoopbackQuoteBroadcast();
+    ExchangeRealtimePublisher publisherA = new ExchangeRealtimePublisher(OverflowPolicy.BUFFER, 256, 16);
+    ExchangeRealtimePublisher publisherB = new ExchangeRealtimePublisher(OverflowPolicy.BUFFER, 256, 16);
+    QuoteFanOut nodeA = new QuoteFanOut(loopback.join(), publisherA, new SimpleMeterRegistry(), "node-a");
+    new QuoteFanOut(loopback.join(), publisherB, new SimpleMeterRegistry(), "node-b");
+
+    // Act & Assert
+    StepVerifier.create(publisherB.subscribe(Exchange.DEFAULT_PAIR, null, null))
+        .then(() -> nodeA.publish(List.of(quote(1), quote(2))))
+        .expectNext(new ExchangeEvent(1, quote(1)), new ExchangeEvent(2, quote(2)))
+        .thenCancel()
+        .verify();
+    StepVerifier.create(publisherA.subscribe(Exchange.DEFAULT_PAIR, null, 0L))
+        .expectNext(new ExchangeEvent(1, quote(1)), new ExchangeEvent(2, quote(2)))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testGapsAreCountedAndStaleBatchesDropped() {
+    // Arrange
+    InProcessQuoteBroadcast broadcast = new InProcessQuoteBroadcast();
+    ExchangeRealtimePublisher publisher = new ExchangeRealtimePublisher(OverflowPolicy.BUFFER, 256, 16);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new QuoteFanOut(broadcast, publisher, registry, "node-a");
+
+    // Act
+    broadcast.publish(new QuoteBatch("node-b", 7, List.of(quote(1))));
+    broadcast.publish(new QuoteBatch("node-b", 8, List.of(quote(2))));
+    broadcast.publish(new QuoteBatch("node-b", 11, List.of(quote(3))));
+    broadcast.publish(new QuoteBatch("node-b", 10, List.of(quote(4))));
+    broadcast.publish(new QuoteBatch("node-b", 1, List.of(quote(5))));
+
+    // Assert
+    assertEquals(2.0, registry.get("exchange.broadcast.gaps").counter().count());
+    assertEquals(1.0, registry.get("exchange.broadcast.stale").counter().count());
+    assertEquals(5.0, registry.get("exchange.broadcast.received").counter().count());
+    StepVerifier.create(publisher.subscribe(Exchange.DEFAULT_PAIR, null, 0L).map(event -> event.exchange().getId()))
+        .expectNext(1L, 2L, 3L, 5L)
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testConcurrentPublishesLeaveInSequence() throws InterruptedException {
+    // Arrange
+    InProcessQuoteBroadcast broadcast = new InProcessQuoteBroadcast();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    QuoteFanOut fanOut = new QuoteFanOut(broadcast, new ExchangeRealtimePublisher(OverflowPolicy.BUFFER, 256, 16),
+        registry, "node-a");
+    List<Long> sequences = new CopyOnWriteArrayList<>();
+    broadcast.receive().subscribe(batch -> sequences.add(batch.sequence()));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // Act
+    for (int i = 0; i < 1_000; i++) {
+      long id = i;
+      executor.execute(() -> fanOut.publish(List.of(quote(id))));
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    // Assert
+    assertEquals(LongStream.rangeClosed(1, 1_000).boxed().toList(), sequences);
+    assertEquals(0.0, registry.get("exchange.broadcast.gaps").counter().count());
+    assertEquals(0.0, registry.get("exchange.broadcast.stale").counter().count());
+  }
+
+  @Test
+  void testFailedDeliveryKeepsReceiving() {
+    // Arrange
+    InProcessQuoteBroadcast broadcast = new InProcessQuoteBroadcast();
+    ExchangeRealtimePublisher publisher = Mockito.mock(ExchangeRealtimePublisher.class);
+    Mockito.doThrow(new IllegalStateException("subscriber failed")).doNothing()
+        .when(publisher).publish(Mockito.any());
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    QuoteFanOut fanOut = new QuoteFanOut(broadcast, publisher, registry, "node-a");
+
+    // Act
+    fanOut.publish(List.of(quote(1)));
+    fanOut.publish(List.of(quote(2)));
+
+    // Assert
+    Mockito.verify(publisher).publish(quote(2));
+    assertEquals(2.0, registry.get("exchange.broadcast.received").counter().count());
+  }
+
+  private static ExchangeDTO quote(long id) {
+    return new ExchangeDTO(id, 3.5, 3.7, NOW);
+  }
+}
@@ -0,0 +1,91 @@
+package com.gpc.exchange.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.aggregate.DailyAggregate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class AggregateQueryCoalescerTest {
+
+  private static final String PAIR = "USDPEN";
+
+  private static final LocalDate DATE = LocalDate.of(2025, 5, 9);
+
+  private static final DailyAggregate AGGREGATE = DailyAggregate.of(3.50, 3.70);
+
+  private SimpleMeterRegistry registry;
+
+  private AggregateQueryCoalescer coalescer;
+
+  private AtomicInteger queries;
+
+  private Sinks.One<DailyAggregate> result;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    coalescer = new AggregateQueryCoalescer(registry);
+    queries = new AtomicInteger();
+    result = Sinks.one();
+  }
+
+  @Test
+  void testConcurrentCallersShareTheQueryInFlight() {
+    // Arrange
+    Mono<DailyAggregate> first = coalescer.load(PAIR, DATE, this::query).cache();
+    Mono<DailyAggregate> second = coalescer.load(PAIR, DATE, this::query).cache();
+    first.subscribe();
+    second.subscribe();
+
+    // Act
+    result.tryEmitValue(AGGREGATE);
+
+    // Assert
+    assertEquals(AGGREGATE, first.block());
+    assertEquals(AGGREGATE, second.block());
+    assertEquals(1, queries.get());
+    assertEquals(1.0, registry.get("exchange.profile.coalesced").counter().count());
+  }
+
+  @Test
+  void testFinishedQueryIsNotReused() {
+    // Arrange
+    result.tryEmitValue(AGGREGATE);
+    coalescer.load(PAIR, DATE, this::query).block();
+
+    // Act & Assert
+    StepVerifier.create(coalescer.load(PAIR, DATE, this::query))
+        .expectNext(AGGREGATE)
+        .verifyComplete();
+    assertEquals(2, queries.get());
+    assertEquals(0.0, registry.get("exchange.profile.coalesced").counter().count());
+  }
+
+  @Test
+  void testForgetStartsAFreshQueryForLaterCallers() {
+    // Arrange
+    coalescer.load(PAIR, DATE, this::query).subscribe();
+    coalescer.load(PAIR, DATE.minusDays(1), this::query).subscribe();
+
+    // Act
+    coalescer.forget(PAIR, DATE);
+    coalescer.load(PAIR, DATE, this::query).subscribe();
+    coalescer.load(PAIR, DATE.minusDays(1), this::query).subscribe();
+
+    // Assert
+    assertEquals(3, queries.get());
+    assertEquals(1.0, registry.get("exchange.profile.coalesced").counter().count());
+  }
+
+  private Mono<DailyAggregate> query() {
+    queries.incrementAndGet();
+    return result.asMono();
+  }
+}
@@ -2,10 +2,29 @@ package com.gpc.exchange.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.gpc.exchange.aggregate.CandleStore;
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.aggregate.DailyAggregateStore;
+import com.gpc.exchange.aggregate.DailyQuantileStore;
+import com.gpc.exchange.aggregate.LatestExchange;
+import com.gpc.exchange.aggregate.LatestExchangeStore;
+import com.gpc.exchange.dto.CandleDTO;
+import com.gpc.exchange.dto.CandleFilterDTO;
+import com.gpc.exchange.dto.DateFilterDTO;
 import com.gpc.exchange.dto.ExchangeDTO;
+import com.gpc.exchange.dto.OhlcDTO;
+import com.gpc.exchange.dto.ProfileExchangeDTO;
 import com.gpc.exchange.dto.ProfileFilterDTO;
+import com.gpc.exchange.dto.RealtimeFilterDTO;
 import com.gpc.exchange.model.Exchange;
-import com.gpc.exchange.repository.ExchangeRepository;
+import com.gpc.exchange.realtime.ExchangeRealtimePublisher;
+import com.gpc.exchange.realtime.InProcessQuoteBroadcast;
+import com.gpc.exchange.realtime.OverflowPolicy;
+import com.gpc.exchange.realtime.QuoteFanOut;
+import com.gpc.exchange.repository.ExchangeCursor;
+import com.gpc.exchange.storage.ExchangeStorage;
+import com.gpc.exchange.util.DataInitializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -14,25 +33,34 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 class ExchangeServiceImplTest {
 
-  @InjectMocks
   private ExchangeServiceImpl service;
 
   @Mock
-  private ExchangeRepository repository;
+  private ExchangeStorage storage;
+
+  @Mock
+  private DataInitializer dataInitializer;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    Mockito.when(dataInitializer.ready()).thenReturn(Mono.empty());
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ExchangeRealtimePublisher realtimePublisher = new ExchangeRealtimePublisher(OverflowPolicy.BUFFER, 256, 16);
+    service = new ExchangeServiceImpl(storage, new DailyAggregateStore(storage), new DailyQuantileStore(storage),
+        new CandleStore(storage), new LatestExchangeStore(storage), new ProfileCache(registry, 1_000),
+        new AggregateQueryCoalescer(registry), realtimePublisher,
+        new QuoteFanOut(new InProcessQuoteBroadcast(), realtimePublisher, registry, "node-a"), dataInitializer);
   }
 
   @Test
@@ -40,7 +68,7 @@ class ExchangeServiceImplTest {
     // Arrange
     Exchange exchange1 = new Exchange(1L, 100.0, 200.0, LocalDateTime.now());
     Exchange exchange2 = new Exchange(2L, 150.0, 250.0, LocalDateTime.now());
-    Mockito.when(repository.findAll()).thenReturn(Flux.fromIterable(Arrays.asList(exchange1, exchange2)));
+    Mockito.when(storage.findAll()).thenReturn(Flux.fromIterable(Arrays.asList(exchange1, exchange2)));
 
     // Act & Assert
     StepVerifier.create(service.findAll())
@@ -48,21 +76,130 @@ class ExchangeServiceImplTest {
         .expectNext(exchange2)
         .verifyComplete();
 
-    Mockito.verify(repository, Mockito.times(1)).findAll();
+    Mockito.verify(storage, Mockito.times(1)).findAll();
+  }
+
+  @Test
+  void testFindPage() {
+    // Arrange
+    ExchangeCursor after = new ExchangeCursor(LocalDateTime.parse("2025-05-09T10:20:00"), 1L);
+    LocalDateTime from = LocalDateTime.parse("2025-05-09T00:00:00");
+    LocalDateTime to = LocalDateTime.parse("2025-05-10T00:00:00");
+    Exchange exchange = new Exchange(2L, 3.55, 3.70, LocalDateTime.parse("2025-05-09T10:30:00"));
+    Mockito.when(storage.findPage(Exchange.DEFAULT_PAIR, after, from, to, 10)).thenReturn(Flux.just(exchange));
+
+    // Act & Assert
+    StepVerifier.create(service.findPage(Exchange.DEFAULT_PAIR, after, from, to, 10))
+        .expectNext(exchange)
+        .verifyComplete();
+  }
+
+  @Test
+  void testCursorRoundTrip() {
+    // Arrange
+    Exchange exchange = new Exchange(42L, 3.55, 3.70, LocalDateTime.parse("2025-05-09T10:30:00.125"));
+
+    // Act
+    ExchangeCursor cursor = ExchangeCursor.decode(ExchangeCursor.of(exchange).encode());
+
+    // Assert
+    assertEquals(new ExchangeCursor(exchange.getDateTime(), 42L), cursor);
+    assertThrows(IllegalArgumentException.class, () -> ExchangeCursor.decode("bm90LWEtY3Vyc29y"));
   }
 
   @Test
   void testSave() {
     // Arrange
     Exchange exchange = new Exchange(1L, 100.0, 200.0, LocalDateTime.now());
-    Mockito.when(repository.save(exchange)).thenReturn(Mono.just(exchange));
+    Mockito.when(storage.save(exchange)).thenReturn(Mono.just(exchange));
 
     // Act & Assert
     StepVerifier.create(service.save(exchange))
         .expectNext(exchange)
         .verifyComplete();
 
-    Mockito.verify(repository, Mockito.times(1)).save(exchange);
+    Mockito.verify(storage, Mockito.times(1)).save(exchange);
+  }
+
+  @Test
+  void testSaveWaitsForStartupData() {
+    // Arrange
+    Sinks.Empty<Void> ready = Sinks.empty();
+    Exchange exchange = new Exchange(1L, 100.0, 200.0, LocalDateTime.now());
+    Mockito.when(dataInitializer.ready()).thenReturn(ready.asMono());
+    Mockito.when(storage.save(exchange)).thenReturn(Mono.just(exchange));
+
+    // Act & Assert
+    StepVerifier.create(service.save(exchange))
+        .then(() -> Mockito.verify(storage, Mockito.never()).save(Mockito.any()))
+        .then(ready::tryEmitEmpty)
+        .expectNext(exchange)
+        .verifyComplete();
+  }
+
+  @Test
+  void testSaveAll() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    Exchange exchange1 = new Exchange(null, 100.0, 200.0, now);
+    Exchange exchange2 = new Exchange(null, 150.0, 250.0, now);
+    Exchange saved1 = new Exchange(1L, 100.0, 200.0, now);
+    Exchange saved2 = new Exchange(2L, 150.0, 250.0, now);
+
+    Mockito.when(storage.insertAll(List.of(exchange1, exchange2))).thenReturn(Flux.just(saved1, saved2));
+
+    // Act & Assert
+    StepVerifier.create(service.streamExchange(Exchange.DEFAULT_PAIR))
+        .then(() -> StepVerifier.create(service.saveAll(Flux.just(exchange1, exchange2)))
+            .expectNext(saved1, saved2)
+            .verifyComplete())
+        .expectNext(new ExchangeDTO(1L, 100.0, 200.0, now), new ExchangeDTO(2L, 150.0, 250.0, now))
+        .thenCancel()
+        .verify();
+    StepVerifier.create(
+            service.findProfileExchange(new ProfileFilterDTO("LOW", now.toLocalDate(), Exchange.DEFAULT_PAIR)))
+        .assertNext(profileExchangeDTO -> assertEquals(150.0, profileExchangeDTO.getBuy()))
+        .verifyComplete();
+  }
+
+  @Test
+  void testSaveKeepsPairsApart() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.parse("2025-05-09T10:00:00");
+    Exchange quote = new Exchange(1L, 3.50, 3.70, now);
+    Exchange otherPair = new Exchange(2L, "EURPEN", 4.00, 4.20, now);
+    Mockito.when(storage.save(Mockito.any(Exchange.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+    // Act & Assert
+    StepVerifier.create(service.streamExchange("EURPEN"))
+        .then(() -> service.save(quote).then(service.save(otherPair)).block())
+        .expectNext(new ExchangeDTO(2L, "EURPEN", 4.00, 4.20, now))
+        .thenCancel()
+        .verify();
+    StepVerifier.create(service.findProfileExchange(new ProfileFilterDTO("LOW", now.toLocalDate(), "EURPEN")))
+        .expectNext(new ProfileExchangeDTO(4.00, 4.20))
+        .verifyComplete();
+    StepVerifier.create(service.findLatest(Exchange.DEFAULT_PAIR).map(LatestExchange::exchange))
+        .expectNext(quote)
+        .verifyComplete();
+  }
+
+  @Test
+  void testFindLatest() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    Exchange latest = new Exchange(1L, 3.55, 3.70, now);
+    Exchange backdated = new Exchange(2L, 3.50, 3.65, now.minusMinutes(1));
+    Mockito.when(storage.save(latest)).thenReturn(Mono.just(latest));
+    Mockito.when(storage.save(backdated)).thenReturn(Mono.just(backdated));
+
+    // Act & Assert
+    StepVerifier.create(service.findLatest(Exchange.DEFAULT_PAIR)).verifyComplete();
+    StepVerifier.create(service.save(latest).then(service.save(backdated))
+            .then(service.findLatest(Exchange.DEFAULT_PAIR)))
+        .assertNext(snapshot -> assertEquals(latest, snapshot.exchange()))
+        .verifyComplete();
   }
 
   @Test
@@ -72,20 +209,59 @@ class ExchangeServiceImplTest {
     ExchangeDTO exchangeDTO1 = new ExchangeDTO(1L, 100.0, 200.0, now);
     ExchangeDTO exchangeDTO2 = new ExchangeDTO(2L, 150.0, 250.0, now);
 
-    Mockito.when(repository.save(Mockito.any(Exchange.class)))
+    Mockito.when(storage.save(Mockito.any(Exchange.class)))
         .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
-    service.save(new Exchange(1L, 100.0, 200.0, now)).block(); // Emit exchangeDTO1
-    service.save(new Exchange(2L, 150.0, 250.0, now)).block(); // Emit exchangeDTO2
-
     // Act & Assert
-    StepVerifier.create(service.streamExchange())
+    StepVerifier.create(service.streamExchange(Exchange.DEFAULT_PAIR))
+        .then(() -> service.save(new Exchange(1L, 100.0, 200.0, now)).block()) // Emit exchangeDTO1
+        .then(() -> service.save(new Exchange(2L, 150.0, 250.0, now)).block()) // Emit exchangeDTO2
         .expectNext(exchangeDTO1)
         .expectNext(exchangeDTO2)
         .thenCancel()
         .verify();
   }
 
+  @Test
+  void testStreamExchangeEventsReplaysFromLastEventId() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    Mockito.when(storage.save(Mockito.any(Exchange.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    service.save(new Exchange(1L, 100.0, 200.0, now)).block();
+    service.save(new Exchange(2L, 150.0, 250.0, now)).block();
+    service.save(new Exchange(3L, 200.0, 300.0, now)).block();
+
+    // Act & Assert
+    StepVerifier.create(service.streamExchangeEvents(new RealtimeFilterDTO(), 1L))
+        .assertNext(event -> assertEquals(2L, event.id()))
+        .assertNext(event -> assertEquals(3L, event.id()))
+        .then(() -> service.save(new Exchange(4L, 250.0, 350.0, now)).block())
+        .assertNext(event -> {
+          assertEquals(4L, event.id());
+          assertEquals(new ExchangeDTO(4L, 250.0, 350.0, now), event.exchange());
+        })
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testFindRealtimeSubscribers() {
+    // Act & Assert
+    StepVerifier.create(service.streamExchangeEvents(
+        new RealtimeFilterDTO(Exchange.DEFAULT_PAIR, OverflowPolicy.LATEST, null, null, null), null))
+        .then(() -> StepVerifier.create(service.findRealtimeSubscribers())
+            .assertNext(stats -> {
+              assertEquals("LATEST", stats.getPolicy());
+              assertEquals(0L, stats.getDropped());
+            })
+            .verifyComplete())
+        .thenCancel()
+        .verify();
+
+    StepVerifier.create(service.findRealtimeSubscribers()).verifyComplete();
+  }
+
   @ParameterizedTest
   @CsvSource({
       "LOW, 200.0, 300.0",
@@ -96,7 +272,7 @@ class ExchangeServiceImplTest {
     // Arrange
     LocalDate date = LocalDate.now();
     LocalDateTime now = LocalDateTime.now();
-    ProfileFilterDTO filterDTO = new ProfileFilterDTO(profile, date);
+    ProfileFilterDTO filterDTO = new ProfileFilterDTO(profile, date, Exchange.DEFAULT_PAIR);
 
     List<Exchange> exchanges = List.of(
         new Exchange(1L, 100.0, 200.0, now),
@@ -104,8 +280,55 @@ class ExchangeServiceImplTest {
         new Exchange(3L, 200.0, 300.0, now)
     );
 
-    Mockito.when(repository.findByDateTimeBetween(Mockito.any(), Mockito.any()))
-        .thenReturn(Flux.fromIterable(exchanges));
+    Mockito.when(storage.save(Mockito.any(Exchange.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    exchanges.forEach(exchange -> service.save(exchange).block());
+
+    // Act & Assert
+    StepVerifier.create(service.findProfileExchange(filterDTO))
+        .assertNext(profileExchangeDTO -> {
+          assertEquals(expectedBuy, profileExchangeDTO.getBuy());
+          assertEquals(expectedSell, profileExchangeDTO.getSell());
+        })
+        .verifyComplete();
+
+    Mockito.verify(storage, Mockito.never()).findAll();
+  }
+
+  @Test
+  void testFindProfileExchangeIsRecomputedAfterSaveForThatDate() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.parse("2025-05-09T10:00:00");
+    ProfileFilterDTO filterDTO = new ProfileFilterDTO("LOW", now.toLocalDate(), Exchange.DEFAULT_PAIR);
+    Mockito.when(storage.save(Mockito.any(Exchange.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    service.save(new Exchange(1L, 100.0, 200.0, now)).block();
+    service.findProfileExchange(filterDTO).block();
+
+    // Act
+    service.save(new Exchange(2L, 150.0, 250.0, now.plusMinutes(1))).block();
+
+    // Assert
+    StepVerifier.create(service.findProfileExchange(filterDTO))
+        .expectNext(new ProfileExchangeDTO(150.0, 250.0))
+        .verifyComplete();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "LOW, 200.0, 300.0",
+      "MEDIUM, 150.0, 250.0",
+      "HIGH, 100.0, 200.0"
+  })
+  void testFindProfileExchangeFromDatabaseAggregate(String profile, double expectedBuy, double expectedSell) {
+    // Arrange
+    LocalDate date = LocalDate.of(2025, 5, 9);
+    ProfileFilterDTO filterDTO = new ProfileFilterDTO(profile, date, Exchange.DEFAULT_PAIR);
+    DailyAggregate aggregate = new DailyAggregate(3, 450.0, 100.0, 200.0, 750.0, 200.0, 300.0);
+
+    Mockito.when(storage.aggregateByDateTimeRange(Exchange.DEFAULT_PAIR, date.atStartOfDay(),
+            date.plusDays(1).atStartOfDay()))
+        .thenReturn(Mono.just(aggregate));
 
     // Act & Assert
     StepVerifier.create(service.findProfileExchange(filterDTO))
@@ -115,7 +338,133 @@ class ExchangeServiceImplTest {
         })
         .verifyComplete();
 
-    Mockito.verify(repository, Mockito.times(1)).findByDateTimeBetween(Mockito.any(), Mockito.any());
+    Mockito.verify(storage, Mockito.never()).findAll();
+  }
+
+  @Test
+  void testFindProfileExchangeWithoutData() {
+    // Arrange
+    ProfileFilterDTO filterDTO = new ProfileFilterDTO("MEDIUM", LocalDate.of(2000, 1, 1), Exchange.DEFAULT_PAIR);
+
+    Mockito.when(storage.aggregateByDateTimeRange(Mockito.eq(Exchange.DEFAULT_PAIR), Mockito.any(), Mockito.any()))
+        .thenReturn(Mono.just(DailyAggregate.EMPTY));
+
+    // Act & Assert
+    StepVerifier.create(service.findProfileExchange(filterDTO))
+        .assertNext(profileExchangeDTO -> {
+          assertEquals(0.0, profileExchangeDTO.getBuy());
+          assertEquals(0.0, profileExchangeDTO.getSell());
+        })
+        .verifyComplete();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "MEDIAN, 3.50, 3.70",
+      "P90, 3.90, 4.10",
+      "P99, 3.99, 4.19"
+  })
+  void testFindQuantileProfileExchange(String profile, double expectedBuy, double expectedSell) {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    Mockito.when(storage.save(Mockito.any(Exchange.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    for (int i = 100; i >= 1; i--) {
+      service.save(new Exchange((long) i, 3.0 + i / 100.0, 3.2 + i / 100.0, now)).block();
+    }
+
+    // Act & Assert
+    StepVerifier.create(service.findProfileExchange(new ProfileFilterDTO(profile, now.toLocalDate(),
+            Exchange.DEFAULT_PAIR)))
+        .expectNext(new ProfileExchangeDTO(expectedBuy, expectedSell))
+        .verifyComplete();
+
+    Mockito.verify(storage, Mockito.never()).findPage(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+        Mockito.any());
+  }
+
+  @Test
+  void testFindQuantileProfileExchangeFromStorage() {
+    // Arrange
+    LocalDate date = LocalDate.of(2025, 5, 9);
+    Mockito.when(storage.findPage(Exchange.DEFAULT_PAIR, null, date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+            null))
+        .thenReturn(Flux.just(new Exchange(1L, 3.50, 3.70, date.atTime(10, 0)),
+            new Exchange(2L, 3.60, 3.80, date.atTime(11, 0)),
+            new Exchange(3L, 3.40, 3.60, date.atTime(12, 0))));
+
+    // Act & Assert
+    StepVerifier.create(service.findProfileExchange(new ProfileFilterDTO("MEDIAN", date, Exchange.DEFAULT_PAIR)))
+        .expectNext(new ProfileExchangeDTO(3.50, 3.70))
+        .verifyComplete();
+  }
+
+  @Test
+  void testConcurrentProfileSearchesShareOneAggregateQuery() {
+    // Arrange
+    LocalDate date = LocalDate.of(2025, 5, 9);
+    Sinks.One<DailyAggregate> aggregate = Sinks.one();
+    Mockito.when(storage.aggregateByDateTimeRange(Mockito.eq(Exchange.DEFAULT_PAIR), Mockito.any(), Mockito.any()))
+        .thenReturn(aggregate.asMono());
+
+    // Act
+    Mono<ProfileExchangeDTO> low =
+        service.findProfileExchange(new ProfileFilterDTO("LOW", date, Exchange.DEFAULT_PAIR)).cache();
+    Mono<ProfileExchangeDTO> high =
+        service.findProfileExchange(new ProfileFilterDTO("HIGH", date, Exchange.DEFAULT_PAIR)).cache();
+    low.subscribe();
+    high.subscribe();
+    aggregate.tryEmitValue(new DailyAggregate(3, 450.0, 100.0, 200.0, 750.0, 200.0, 300.0));
+
+    // Assert
+    assertEquals(new ProfileExchangeDTO(200.0, 300.0), low.block());
+    assertEquals(new ProfileExchangeDTO(100.0, 200.0), high.block());
+    Mockito.verify(storage, Mockito.times(1))
+        .aggregateByDateTimeRange(Mockito.any(), Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void testFindProfilesExchange() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    Mockito.when(storage.save(Mockito.any(Exchange.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    service.save(new Exchange(1L, 100.0, 200.0, now)).block();
+    service.save(new Exchange(2L, 150.0, 250.0, now)).block();
+    service.save(new Exchange(3L, 200.0, 300.0, now)).block();
+
+    // Act & Assert
+    StepVerifier.create(service.findProfilesExchange(new DateFilterDTO(now.toLocalDate(), Exchange.DEFAULT_PAIR)))
+        .assertNext(profiles -> {
+          assertEquals(new ProfileExchangeDTO(200.0, 300.0), profiles.getLow());
+          assertEquals(new ProfileExchangeDTO(150.0, 250.0), profiles.getMedium());
+          assertEquals(new ProfileExchangeDTO(100.0, 200.0), profiles.getHigh());
+        })
+        .verifyComplete();
+
+    Mockito.verify(storage, Mockito.never()).aggregateByDateTimeRange(Mockito.any(), Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void testFindCandles() {
+    // Arrange
+    LocalDateTime start = LocalDateTime.parse("2025-05-09T10:00:00");
+    Mockito.when(storage.save(Mockito.any(Exchange.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    service.save(new Exchange(1L, 3.50, 3.70, start.plusMinutes(1))).block();
+    service.save(new Exchange(2L, 3.60, 3.80, start.plusMinutes(2))).block();
+    service.save(new Exchange(3L, 3.40, 3.60, start.plusMinutes(3))).block();
+    service.save(new Exchange(4L, 3.55, 3.75, start.plusMinutes(6))).block();
+
+    // Act & Assert
+    StepVerifier.create(
+            service.findCandles(new CandleFilterDTO("5m", start, start.plusHours(1), Exchange.DEFAULT_PAIR)))
+        .expectNext(new CandleDTO(start, 3, new OhlcDTO(3.50, 3.60, 3.40, 3.40), new OhlcDTO(3.70, 3.80, 3.60, 3.60)))
+        .expectNext(new CandleDTO(start.plusMinutes(5), 1, new OhlcDTO(3.55, 3.55, 3.55, 3.55),
+            new OhlcDTO(3.75, 3.75, 3.75, 3.75)))
+        .verifyComplete();
+
+    Mockito.verify(storage, Mockito.never()).findAll();
   }
 
   @Test
@@ -123,12 +472,11 @@ class ExchangeServiceImplTest {
     // Arrange
     LocalDate date = LocalDate.now();
     LocalDateTime now = LocalDateTime.now();
-    ProfileFilterDTO filterDTO = new ProfileFilterDTO("INVALID", date);
+    ProfileFilterDTO filterDTO = new ProfileFilterDTO("INVALID", date, Exchange.DEFAULT_PAIR);
 
-    List<Exchange> exchanges = List.of(new Exchange(1L, 100.0, 200.0, now));
-
-    Mockito.when(repository.findByDateTimeBetween(Mockito.any(), Mockito.any()))
-        .thenReturn(Flux.fromIterable(exchanges));
+    Mockito.when(storage.save(Mockito.any(Exchange.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    service.save(new Exchange(1L, 100.0, 200.0, now)).block();
 
     // Act & Assert
     assertThrows(IllegalArgumentException.class, () -> {
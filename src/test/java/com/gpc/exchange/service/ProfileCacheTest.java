@@ -0,0 +1,79 @@
+package com.gpc.exchange.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.dto.ProfileExchangeDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProfileCacheTest {
+
+  private static final String PAIR = "USDPEN";
+
+  private static final LocalDate DATE = LocalDate.of(2025, 5, 9);
+
+  private SimpleMeterRegistry registry;
+
+  private ProfileCache cache;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    cache = new ProfileCache(registry, 1_000);
+  }
+
+  @Test
+  void testGetLoadsOnceAndCountsHitsAndMisses() {
+    // Arrange
+    AtomicInteger loads = new AtomicInteger();
+
+    // Act
+    for (int i = 0; i < 3; i++) {
+      cache.get(PAIR, "LOW", DATE, () -> {
+        loads.incrementAndGet();
+        return new ProfileExchangeDTO(3.50, 3.70);
+      });
+    }
+
+    // Assert
+    assertEquals(1, loads.get());
+    assertEquals(2.0, registry.get("cache.gets").tag("cache", "profiles").tag("result", "hit")
+        .functionCounter().count());
+    assertEquals(1.0, registry.get("cache.gets").tag("cache", "profiles").tag("result", "miss")
+        .functionCounter().count());
+  }
+
+  @Test
+  void testInvalidateDropsEveryProfileOfThatPairAndDateOnly() {
+    // Arrange
+    cache.get(PAIR, "LOW", DATE, () -> new ProfileExchangeDTO(3.50, 3.70));
+    cache.get(PAIR, "HIGH", DATE, () -> new ProfileExchangeDTO(3.40, 3.60));
+    cache.get(PAIR, "LOW", DATE.minusDays(1), () -> new ProfileExchangeDTO(3.30, 3.50));
+    cache.get("EURPEN", "LOW", DATE, () -> new ProfileExchangeDTO(4.00, 4.20));
+
+    // Act
+    cache.invalidate(PAIR, DATE);
+
+    // Assert
+    assertEquals(new ProfileExchangeDTO(3.55, 3.75),
+        cache.get(PAIR, "LOW", DATE, () -> new ProfileExchangeDTO(3.55, 3.75)));
+    assertEquals(new ProfileExchangeDTO(3.45, 3.65),
+        cache.get(PAIR, "HIGH", DATE, () -> new ProfileExchangeDTO(3.45, 3.65)));
+    assertEquals(new ProfileExchangeDTO(3.30, 3.50), cache.get(PAIR, "LOW", DATE.minusDays(1), () -> null));
+    assertEquals(new ProfileExchangeDTO(4.00, 4.20), cache.get("EURPEN", "LOW", DATE, () -> null));
+  }
+
+  @Test
+  void testMissingProfileIsNotCached() {
+    // Act
+    ProfileExchangeDTO missing = cache.get(PAIR, "LOW", DATE, () -> null);
+
+    // Assert
+    assertNull(missing);
+    assertEquals(new ProfileExchangeDTO(3.50, 3.70),
+        cache.get(PAIR, "LOW", DATE, () -> new ProfileExchangeDTO(3.50, 3.70)));
+  }
+}
@@ -0,0 +1,149 @@
+package com.gpc.exchange.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.aggregate.DailyAggregate;
+import com.gpc.exchange.aggregate.ExchangeAccumulator;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.repository.ExchangeCursor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class ColumnarExchangeStorageTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2025, 5, 9);
+
+  private static final String OTHER_PAIR = "EURPEN";
+
+  private static final Comparator<Exchange> KEYSET_ORDER =
+      Comparator.comparing(Exchange::getDateTime).thenComparing(Exchange::getId);
+
+  private ColumnarExchangeStorage storage;
+
+  private List<Exchange> stored;
+
+  @BeforeEach
+  void setUp() {
+    storage = new ColumnarExchangeStorage();
+    Random random = new Random(42);
+    List<Exchange> batch = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      double buy = 3.0 + random.nextInt(10_000) / 10_000.0;
+      double sell = buy + random.nextInt(500) / 10_000.0;
+      LocalDateTime dateTime = FIRST_DAY.atStartOfDay().plusSeconds(random.nextInt(3 * 86_400) / 60 * 60);
+      batch.add(new Exchange(null, i % 4 == 0 ? OTHER_PAIR : Exchange.DEFAULT_PAIR, buy, sell, dateTime));
+    }
+    stored = new ArrayList<>(storage.insertAll(batch).collectList().block());
+    stored.add(storage.save(new Exchange(99L, 3.5, 3.7, FIRST_DAY.atTime(10, 20, 0, 123_456_789))).block());
+  }
+
+  @Test
+  void testSaveAssignsSequentialIdsAndMillisecondPrecision() {
+    // Act
+    Exchange saved = stored.get(stored.size() - 1);
+
+    // Assert
+    assertEquals(stored.size(), saved.getId());
+    assertEquals(FIRST_DAY.atTime(10, 20, 0, 123_000_000), saved.getDateTime());
+  }
+
+  @Test
+  void testFindAllReturnsKeysetOrder() {
+    // Act & Assert
+    StepVerifier.create(storage.findAll().collectList())
+        .assertNext(rows -> assertEquals(stored.stream().sorted(KEYSET_ORDER).toList(), rows))
+        .verifyComplete();
+  }
+
+  @Test
+  void testPagesMatchSortedReference() {
+    // Arrange
+    LocalDateTime from = FIRST_DAY.atTime(12, 0);
+    LocalDateTime to = FIRST_DAY.plusDays(2).atTime(6, 30);
+    List<Exchange> expected = stored.stream()
+        .filter(exchange -> exchange.getPair().equals(Exchange.DEFAULT_PAIR))
+        .filter(exchange -> !exchange.getDateTime().isBefore(from) && exchange.getDateTime().isBefore(to))
+        .sorted(KEYSET_ORDER)
+        .toList();
+
+    // Act
+    List<Exchange> pages = new ArrayList<>();
+    ExchangeCursor cursor = null;
+    List<Exchange> page;
+    do {
+      page = storage.findPage(Exchange.DEFAULT_PAIR, cursor, from, to, 97).collectList().block();
+      pages.addAll(page);
+      cursor = page.isEmpty() ? cursor : ExchangeCursor.of(page.get(page.size() - 1));
+    } while (page.size() == 97);
+
+    // Assert
+    assertEquals(expected, pages);
+  }
+
+  @Test
+  void testPagesKeepIdOrderWithinAMillisecondStoredOutOfOrder() {
+    // Arrange
+    LocalDateTime dateTime = FIRST_DAY.minusDays(10).atTime(9, 0);
+    storage.insertAllWithIds(List.of(new Exchange(10_006L, 3.6, 3.8, dateTime),
+        new Exchange(10_005L, 3.5, 3.7, dateTime))).block();
+
+    // Act
+    List<Exchange> first = storage.findPage(Exchange.DEFAULT_PAIR, null, dateTime, dateTime.plusHours(1), 1)
+        .collectList().block();
+    List<Exchange> second = storage.findPage(Exchange.DEFAULT_PAIR, ExchangeCursor.of(first.get(0)), dateTime,
+        dateTime.plusHours(1), 1).collectList().block();
+
+    // Assert
+    assertEquals(10_005L, first.get(0).getId());
+    assertEquals(10_006L, second.get(0).getId());
+  }
+
+  @Test
+  void testAggregateMatchesListComputation() {
+    // Arrange
+    LocalDateTime start = FIRST_DAY.plusDays(1).atStartOfDay();
+    LocalDateTime end = FIRST_DAY.plusDays(2).atStartOfDay();
+    DailyAggregate expected = stored.stream()
+        .filter(exchange -> exchange.getPair().equals(OTHER_PAIR))
+        .filter(exchange -> !exchange.getDateTime().isBefore(start) && exchange.getDateTime().isBefore(end))
+        .collect(ExchangeAccumulator.summarizing());
+
+    // Act & Assert
+    StepVerifier.create(storage.aggregateByDateTimeRange(OTHER_PAIR, start, end))
+        .assertNext(aggregate -> {
+          assertEquals(expected.count(), aggregate.count());
+          assertEquals(expected.buyMin(), aggregate.buyMin());
+          assertEquals(expected.buyMax(), aggregate.buyMax());
+          assertEquals(expected.buySum(), aggregate.buySum(), 1e-6);
+          assertEquals(expected.sellMin(), aggregate.sellMin());
+          assertEquals(expected.sellMax(), aggregate.sellMax());
+          assertEquals(expected.sellSum(), aggregate.sellSum(), 1e-6);
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void testAggregateWithoutDataIsEmpty() {
+    // Act & Assert
+    StepVerifier.create(storage.aggregateByDateTimeRange(Exchange.DEFAULT_PAIR, FIRST_DAY.minusDays(5).atStartOfDay(),
+            FIRST_DAY.minusDays(4).atStartOfDay()))
+        .expectNext(DailyAggregate.EMPTY)
+        .verifyComplete();
+  }
+
+  @Test
+  void testDeleteAll() {
+    // Act
+    StepVerifier.create(storage.deleteAll()).verifyComplete();
+
+    // Assert
+    StepVerifier.create(storage.findAll()).verifyComplete();
+  }
+}
@@ -0,0 +1,72 @@
+package com.gpc.exchange.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import reactor.test.StepVerifier;
+
+class DurableExchangeStorageTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2025, 5, 9, 10, 0);
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  void testQuotesSurviveRestart() {
+    // Arrange
+    DurableExchangeStorage storage = open(FsyncPolicy.INTERVAL);
+    storage.save(new Exchange(null, 3.50, 3.70, START)).block();
+    List<Exchange> stored = storage.insertAll(List.of(
+        new Exchange(null, 3.55, 3.75, START.plusMinutes(1)),
+        new Exchange(null, 3.60, 3.80, START.plusMinutes(2)))).collectList().block();
+    List<Exchange> expected = storage.findAll().collectList().block();
+    storage.close();
+
+    // Act
+    DurableExchangeStorage restarted = open(FsyncPolicy.INTERVAL);
+
+    // Assert
+    assertTrue(restarted.isDurable());
+    assertEquals(3, expected.size());
+    assertEquals(3L, stored.get(1).getId());
+    StepVerifier.create(restarted.findAll().collectList())
+        .expectNext(expected)
+        .verifyComplete();
+    StepVerifier.create(restarted.save(new Exchange(null, 3.65, 3.85, START.plusMinutes(3))))
+        .assertNext(saved -> assertEquals(4L, saved.getId()))
+        .verifyComplete();
+    restarted.close();
+  }
+
+  @Test
+  void testDeleteAllClearsTheLog() {
+    // Arrange
+    DurableExchangeStorage storage = open(FsyncPolicy.ALWAYS);
+    storage.save(new Exchange(null, 3.50, 3.70, START)).block();
+
+    // Act
+    storage.deleteAll().block();
+    storage.close();
+
+    // Assert
+    DurableExchangeStorage restarted = open(FsyncPolicy.ALWAYS);
+    StepVerifier.create(restarted.findAll()).verifyComplete();
+    restarted.close();
+  }
+
+  private DurableExchangeStorage open(FsyncPolicy fsyncPolicy) {
+    DurableExchangeStorage storage = new DurableExchangeStorage(new SimpleMeterRegistry(), directory,
+        DataSize.ofKilobytes(1), fsyncPolicy, Duration.ofMillis(50));
+    storage.initialize().block();
+    return storage;
+  }
+}
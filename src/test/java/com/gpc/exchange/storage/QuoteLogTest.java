@@ -0,0 +1,137 @@
+package com.gpc.exchange.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class QuoteLogTest {
+
+  private static final int RECORDS_PER_SEGMENT = 10;
+
+  private static final LocalDateTime START = LocalDateTime.of(2025, 5, 9, 10, 0);
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  void testReplayReturnsAppendedRecordsAcrossSegments() throws IOException {
+    // Arrange
+    List<Exchange> exchanges = exchanges(1, 25);
+    try (QuoteLog log = newLog()) {
+      log.open(this::fail);
+      log.append(exchanges.subList(0, 7));
+      log.append(exchanges.subList(7, 25));
+    }
+
+    // Act
+    List<Exchange> replayed = replay();
+
+    // Assert
+    assertEquals(exchanges, replayed);
+    assertEquals(3, segments().size());
+  }
+
+  @Test
+  void testReplayStopsAtCorruptRecordAndDropsTheRest() throws IOException {
+    // Arrange
+    try (QuoteLog log = newLog()) {
+      log.open(this::fail);
+      log.append(exchanges(1, 25));
+    }
+    corrupt(segments().get(1), 3);
+
+    // Act
+    List<Exchange> replayed = replay();
+
+    // Assert
+    assertEquals(exchanges(1, 13), replayed);
+    assertEquals(2, segments().size());
+  }
+
+  @Test
+  void testAppendAfterRecoveryDoesNotResurrectDroppedRecords() throws IOException {
+    // Arrange
+    try (QuoteLog log = newLog()) {
+      log.open(this::fail);
+      log.append(exchanges(1, 8));
+    }
+    corrupt(segments().get(0), 2);
+    try (QuoteLog log = newLog()) {
+      log.open((id, millis, pair, buy, sell) -> { });
+      log.append(exchanges(100, 1));
+    }
+
+    // Act
+    List<Exchange> replayed = replay();
+
+    // Assert
+    List<Exchange> expected = new ArrayList<>(exchanges(1, 2));
+    expected.addAll(exchanges(100, 1));
+    assertEquals(expected, replayed);
+  }
+
+  @Test
+  void testClearDeletesEverySegment() throws IOException {
+    // Arrange
+    try (QuoteLog log = newLog()) {
+      log.open(this::fail);
+      log.append(exchanges(1, 25));
+      log.clear();
+      log.append(exchanges(30, 2));
+    }
+
+    // Act & Assert
+    assertEquals(exchanges(30, 2), replay());
+    assertEquals(1, segments().size());
+  }
+
+  private QuoteLog newLog() {
+    return new QuoteLog(directory, (long) RECORDS_PER_SEGMENT * QuoteLog.RECORD_SIZE, FsyncPolicy.ALWAYS);
+  }
+
+  private List<Exchange> replay() throws IOException {
+    List<Exchange> replayed = new ArrayList<>();
+    try (QuoteLog log = newLog()) {
+      log.open((id, millis, pair, buy, sell) ->
+          replayed.add(new Exchange(id, PairCode.decode(pair), buy, sell,
+              ColumnarExchangeStorage.toDateTime(millis))));
+    }
+    return replayed;
+  }
+
+  private void fail(long id, long millis, long pair, double buy, double sell) {
+    throw new AssertionError("Unexpected record " + id);
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().toList();
+    }
+  }
+
+  private static void corrupt(Path segment, int record) throws IOException {
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {0x7f}), (long) record * QuoteLog.RECORD_SIZE + 20);
+    }
+  }
+
+  private static List<Exchange> exchanges(long firstId, int count) {
+    return LongStream.range(firstId, firstId + count)
+        .mapToObj(id -> new Exchange(id, id % 3 == 0 ? "EURPEN" : Exchange.DEFAULT_PAIR, 3.5 + id / 1000.0,
+            3.7 + id / 1000.0, START.plusSeconds(id)))
+        .toList();
+  }
+}
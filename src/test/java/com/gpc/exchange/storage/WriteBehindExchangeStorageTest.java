@@ -0,0 +1,161 @@
+package com.gpc.exchange.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class WriteBehindExchangeStorageTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2025, 5, 9, 10, 0);
+
+  private ColumnarExchangeStorage delegate;
+
+  private SimpleMeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    delegate = Mockito.spy(new ColumnarExchangeStorage());
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void testSaveAcknowledgesBeforeFlushAndReadsWaitForIt() {
+    // Arrange
+    delegate.save(new Exchange(null, 3.40, 3.60, START.minusMinutes(1))).block();
+    WriteBehindExchangeStorage storage = open(100, Duration.ofMillis(200));
+
+    // Act
+    Exchange saved = storage.save(new Exchange(null, 3.50, 3.70, START)).block();
+
+    // Assert
+    assertEquals(2L, saved.getId());
+    assertEquals(1.0, registry.get("exchange.write_behind.pending").gauge().value());
+    assertEquals(1, delegate.findAll().count().block());
+    StepVerifier.create(storage.findAll().map(Exchange::getId))
+        .expectNext(1L, 2L)
+        .verifyComplete();
+    assertEquals(0.0, registry.get("exchange.write_behind.pending").gauge().value());
+    assertEquals(1, registry.get("exchange.write_behind.lag").timer().count());
+    storage.close();
+  }
+
+  @Test
+  void testFlushesInBatchesOfAtMostMaxSize() {
+    // Arrange
+    WriteBehindExchangeStorage storage = open(4, Duration.ofMillis(20));
+    List<Exchange> exchanges = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      exchanges.add(new Exchange(null, 3.50, 3.70, START.plusMinutes(i)));
+    }
+
+    // Act
+    List<Exchange> stored = storage.insertAll(exchanges).collectList().block();
+
+    // Assert
+    StepVerifier.create(storage.findAll())
+        .expectNextSequence(stored)
+        .verifyComplete();
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Exchange>> batches = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(delegate, Mockito.atLeast(3)).insertAllWithIds(batches.capture());
+    assertTrue(batches.getAllValues().stream().allMatch(batch -> batch.size() <= 4));
+    assertEquals(10.0, registry.get("exchange.write_behind.batch.size").summary().totalAmount());
+    storage.close();
+  }
+
+  @Test
+  void testCloseFlushesPendingQuotes() {
+    // Arrange
+    WriteBehindExchangeStorage storage = open(1_000, Duration.ofHours(1));
+    storage.save(new Exchange(null, 3.50, 3.70, START)).block();
+    storage.save(new Exchange(null, 3.55, 3.75, START.plusMinutes(1))).block();
+
+    // Act
+    storage.close();
+
+    // Assert
+    assertEquals(2, delegate.findAll().count().block());
+    assertThrows(IllegalStateException.class, () -> storage.save(new Exchange(null, 3.60, 3.80, START)).block());
+  }
+
+  @Test
+  void testRestartIdsAfterMovesTheSequencePastPreNumberedQuotes() {
+    // Arrange
+    WriteBehindExchangeStorage storage = open(100, Duration.ofMillis(10));
+    Exchange numbered = new Exchange(41L, "USDPEN", 3.50, 3.70, START);
+    storage.insertAllWithIds(List.of(numbered)).block();
+
+    // Act
+    storage.restartIdsAfter(100).block();
+    Exchange saved = storage.save(new Exchange(null, 3.55, 3.75, START.plusMinutes(1))).block();
+
+    // Assert
+    assertEquals(101L, saved.getId());
+    Mockito.verify(delegate).restartIdsAfter(100);
+    storage.close();
+  }
+
+  @Test
+  void testFailedFlushIsRetried() {
+    // Arrange
+    WriteBehindExchangeStorage storage = open(100, Duration.ofMillis(10));
+    Mockito.doReturn(Mono.error(new IllegalStateException("database busy")))
+        .doCallRealMethod()
+        .when(delegate).insertAllWithIds(Mockito.anyList());
+
+    // Act
+    Exchange saved = storage.save(new Exchange(null, 3.50, 3.70, START)).block();
+
+    // Assert
+    StepVerifier.create(storage.findAll())
+        .expectNext(saved)
+        .verifyComplete();
+    assertEquals(1.0, registry.get("exchange.write_behind.retries").counter().count());
+    assertEquals(0.0, registry.get("exchange.write_behind.lost").counter().count());
+    assertEquals(Status.UP, new WriteBehindHealthIndicator(storage).health().getStatus());
+    storage.close();
+  }
+
+  @Test
+  void testBatchIsDroppedAfterRetriesAndReportedWithoutBlockingReads() {
+    // Arrange
+    WriteBehindExchangeStorage storage = open(100, Duration.ofMillis(10));
+    Mockito.doReturn(Mono.error(new IllegalStateException("disk full"))).when(delegate)
+        .insertAllWithIds(Mockito.anyList());
+
+    // Act
+    storage.save(new Exchange(null, 3.50, 3.70, START)).block();
+
+    // Assert
+    StepVerifier.create(storage.findAll()).verifyComplete();
+    Mockito.verify(delegate, Mockito.times(3)).insertAllWithIds(Mockito.anyList());
+    assertEquals(1.0, registry.get("exchange.write_behind.lost").counter().count());
+    assertEquals(0.0, registry.get("exchange.write_behind.pending").gauge().value());
+    Health health = new WriteBehindHealthIndicator(storage).health();
+    assertEquals(Status.DOWN, health.getStatus());
+    assertEquals(1L, health.getDetails().get("lastLostId"));
+    assertEquals(0L, health.getDetails().get("flushedId"));
+    storage.close();
+  }
+
+  private WriteBehindExchangeStorage open(int maxBatchSize, Duration maxDelay) {
+    WriteBehindExchangeStorage storage =
+        new WriteBehindExchangeStorage(delegate, registry, maxBatchSize, maxDelay, Duration.ofSeconds(5), 2,
+            Duration.ofMillis(1));
+    storage.initialize().block();
+    return storage;
+  }
+}
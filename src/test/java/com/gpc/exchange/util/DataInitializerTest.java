@@ -0,0 +1,54 @@
+package com.gpc.exchange.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.aggregate.CandleStore;
+import com.gpc.exchange.aggregate.DailyAggregateStore;
+import com.gpc.exchange.aggregate.DailyQuantileStore;
+import com.gpc.exchange.aggregate.LatestExchangeStore;
+import com.gpc.exchange.storage.ExchangeStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
+
+class DataInitializerTest {
+
+  @Mock
+  private ExchangeStorage storage;
+
+  @Mock
+  private DailyAggregateStore aggregateStore;
+
+  @Mock
+  private DailyQuantileStore quantileStore;
+
+  @Mock
+  private CandleStore candleStore;
+
+  @Mock
+  private LatestExchangeStore latestStore;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  @Test
+  void testRunFailsStartupWhenTheDataCannotBeLoaded() {
+    // Arrange
+    Mockito.when(storage.initialize()).thenReturn(Mono.error(new IllegalStateException("disk full")));
+    Mockito.when(storage.deleteAll()).thenReturn(Mono.empty());
+    DataInitializer initializer = new DataInitializer(storage, aggregateStore, quantileStore, candleStore,
+        latestStore, "none", 1, 1, 1, 42);
+    initializer.initData();
+
+    // Act
+    IllegalStateException error = assertThrows(IllegalStateException.class, () -> initializer.run(null));
+
+    // Assert
+    assertEquals("disk full", error.getMessage());
+  }
+}
@@ -0,0 +1,86 @@
+package com.gpc.exchange.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.aggregate.LatestExchangeStore;
+import com.gpc.exchange.model.Exchange;
+import com.gpc.exchange.service.ExchangeService;
+import com.gpc.exchange.storage.ExchangeStorage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class FeedSimulatorTest {
+
+  @Mock
+  private ExchangeService service;
+
+  @Mock
+  private ExchangeStorage storage;
+
+  @Mock
+  private DataInitializer dataInitializer;
+
+  private LatestExchangeStore latestStore;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    latestStore = new LatestExchangeStore(storage);
+    Mockito.when(dataInitializer.ready()).thenReturn(Mono.empty());
+    Mockito.when(service.save(Mockito.any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+  }
+
+  @Test
+  void testFeedSavesQuotesAtRateFromLatestQuote() {
+    // Arrange
+    latestStore.add(new Exchange(1L, 3.90, 4.10, LocalDateTime.of(2025, 5, 9, 10, 0)));
+    FeedSimulator simulator = new FeedSimulator(service, latestStore, dataInitializer, 4, 7);
+
+    // Act & Assert
+    StepVerifier.withVirtualTime(simulator::feed)
+        .thenAwait(Duration.ofMillis(999))
+        .assertNext(exchange -> assertEquals(3.90, exchange.getBuy(), 0.01))
+        .expectNextCount(2)
+        .thenAwait(Duration.ofMillis(1))
+        .expectNextCount(1)
+        .thenCancel()
+        .verify();
+    Mockito.verify(service, Mockito.times(4)).save(Mockito.any());
+  }
+
+  @Test
+  void testFeedGroupsQuotesPerMillisecondAboveOneThousandPerSecond() {
+    // Arrange
+    FeedSimulator simulator = new FeedSimulator(service, latestStore, dataInitializer, 5_000, 7);
+
+    // Act & Assert
+    StepVerifier.withVirtualTime(simulator::feed)
+        .thenAwait(Duration.ofMillis(10))
+        .expectNextCount(50)
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void testFeedKeepsGoingWhenSaveFails() {
+    // Arrange
+    Mockito.doReturn(Mono.error(new IllegalStateException("database down")))
+        .doAnswer(invocation -> Mono.just(invocation.getArgument(0)))
+        .when(service).save(Mockito.any());
+    FeedSimulator simulator = new FeedSimulator(service, latestStore, dataInitializer, 10, 7);
+
+    // Act & Assert
+    StepVerifier.withVirtualTime(simulator::feed)
+        .thenAwait(Duration.ofMillis(200))
+        .expectNextCount(1)
+        .thenCancel()
+        .verify();
+  }
+}
@@ -0,0 +1,205 @@
+package com.gpc.exchange.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.gpc.exchange.exception.InvalidDateFormatException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class FixedLayoutDateParserTest {
+
+  private static final DateTimeFormatter REFERENCE_DATE_TIME = new DateTimeFormatterBuilder()
+      .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
+      .optionalStart()
+      .appendPattern("[.SSS][.SS][.S]")
+      .optionalEnd()
+      .toFormatter();
+
+  private static final DateTimeFormatter REFERENCE_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+  private static final String MUTATIONS = "0123456789-+:.T tZ";
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  private final CustomDateTimeDeserializer dateTimeDeserializer = new CustomDateTimeDeserializer();
+
+  private final CustomDateDeserializer dateDeserializer = new CustomDateDeserializer();
+
+  @Test
+  void testDateTimeMatchesReferenceFormatter() throws IOException {
+    // Arrange
+    Random random = new Random(42);
+
+    for (int i = 0; i < 200_000; i++) {
+      String text = mutate(random, randomDateTime(random));
+
+      // Act & Assert
+      assertEquivalent(text, referenceDateTime(text), deserializeDateTime(text));
+    }
+  }
+
+  @Test
+  void testDateMatchesReferenceFormatter() throws IOException {
+    // Arrange
+    Random random = new Random(7);
+
+    for (int i = 0; i < 200_000; i++) {
+      String text = mutate(random, randomDate(random));
+
+      // Act & Assert
+      assertEquivalent(text, referenceDate(text), deserializeDate(text));
+    }
+  }
+
+  @Test
+  void testEdgeCasesMatchReferenceFormatter() throws IOException {
+    String[] dateTimes = {
+        "2025-05-09T10:20:00", "2025-05-09T10:20:00.1", "2025-05-09T10:20:00.12", "2025-05-09T10:20:00.123",
+        "2025-05-09T10:20:00.1234", "2025-05-09T10:20:00.100.10.1", "2025-05-09T10:20:00.12.1",
+        "2025-05-09T10:20:00.5.5", "2025-05-09T10:20:00.", "2025-05-09T10:20:00Z", "2025-05-09 10:20",
+        "2025-02-30T10:20:00", "2024-02-30T10:20:00", "2025-02-32T10:20:00", "2025-13-01T10:20:00",
+        "2025-05-09T24:00:00", "2025-05-09T24:00:00.000", "2025-05-09T24:00:01", "2025-12-31T24:00:00",
+        "2025-05-09T23:60:00", "2025-05-09T23:59:60", "0000-01-01T00:00:00", "0001-01-01T00:00:00",
+        "+2025-05-09T10:20:00", "+12025-05-09T10:20:00", "+02025-05-09T10:20:00", "12025-05-09T10:20:00",
+        "-2025-05-09T10:20:00", "+999999999-12-31T23:59:59", "+999999999-12-31T24:00:00",
+        "+1000000000-01-01T00:00:00", " 2025-05-09T10:20:00", "2025-05-09t10:20:00", "2025-05-09T10:20", ""};
+    for (String text : dateTimes) {
+      assertEquivalent(text, referenceDateTime(text), deserializeDateTime(text));
+    }
+
+    String[] dates = {"2025-05-09", "2025-02-29", "2024-02-30", "2025-04-31", "2025-04-32", "2025-00-10",
+        "0000-01-01", "+12025-05-09", "+2025-05-09", "2025-5-9", "2025-05-09T", "", "20250509"};
+    for (String text : dates) {
+      assertEquivalent(text, referenceDate(text), deserializeDate(text));
+    }
+  }
+
+  @Test
+  void testRejectionThrowsFreshStacklessException() throws IOException {
+    // Act
+    InvalidDateFormatException first = assertThrows(InvalidDateFormatException.class,
+        () -> rawDeserializeDateTime("2025-05-09 10:20"));
+    InvalidDateFormatException second = assertThrows(InvalidDateFormatException.class,
+        () -> rawDeserializeDateTime("not a date"));
+
+    // Assert
+    assertNotSame(first, second);
+    assertEquals(0, first.getStackTrace().length);
+    assertEquals("El formato de la fecha y hora es inválido. Debe ser yyyy-MM-dd'T'HH:mm:ss", first.getMessage());
+  }
+
+  @Test
+  void testNonStringTokenIsRejected() {
+    assertThrows(InvalidDateFormatException.class, () -> {
+      try (JsonParser parser = jsonFactory.createParser("20250509")) {
+        parser.nextToken();
+        dateDeserializer.deserialize(parser, null);
+      }
+    });
+  }
+
+  private void assertEquivalent(String text, Object expected, Object actual) {
+    assertEquals(expected, actual, () -> "Mismatch for \"" + text + "\"");
+  }
+
+  private static String randomDateTime(Random random) {
+    StringBuilder sb = new StringBuilder(randomDate(random))
+        .append('T')
+        .append(twoDigits(random.nextInt(26)))
+        .append(':')
+        .append(twoDigits(random.nextInt(62)))
+        .append(':')
+        .append(twoDigits(random.nextInt(62)));
+    int fractions = random.nextInt(4);
+    for (int i = 0; i < fractions; i++) {
+      sb.append('.');
+      int width = 1 + random.nextInt(4);
+      for (int j = 0; j < width; j++) {
+        sb.append(random.nextInt(10));
+      }
+    }
+    return sb.toString();
+  }
+
+  private static String randomDate(Random random) {
+    String year = switch (random.nextInt(10)) {
+      case 0 -> "+" + (10_000 + random.nextInt(999_990_000));
+      case 1 -> String.format("%04d", random.nextInt(10));
+      default -> String.valueOf(1900 + random.nextInt(200));
+    };
+    return year + '-' + twoDigits(random.nextInt(14)) + '-' + twoDigits(random.nextInt(33));
+  }
+
+  private static String twoDigits(int value) {
+    return value < 10 ? "0" + value : String.valueOf(value);
+  }
+
+  private static String mutate(Random random, String text) {
+    if (random.nextInt(4) != 0) {
+      return text;
+    }
+    StringBuilder sb = new StringBuilder(text);
+    int index = random.nextInt(sb.length() + 1);
+    switch (random.nextInt(3)) {
+      case 0 -> sb.insert(index, MUTATIONS.charAt(random.nextInt(MUTATIONS.length())));
+      case 1 -> {
+        if (index < sb.length()) {
+          sb.deleteCharAt(index);
+        }
+      }
+      default -> {
+        if (index < sb.length()) {
+          sb.setCharAt(index, MUTATIONS.charAt(random.nextInt(MUTATIONS.length())));
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  private static LocalDateTime referenceDateTime(String text) {
+    try {
+      return LocalDateTime.parse(text, REFERENCE_DATE_TIME);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static LocalDate referenceDate(String text) {
+    try {
+      return LocalDate.parse(text, REFERENCE_DATE);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private LocalDateTime deserializeDateTime(String text) throws IOException {
+    try {
+      return rawDeserializeDateTime(text);
+    } catch (InvalidDateFormatException e) {
+      return null;
+    }
+  }
+
+  private LocalDateTime rawDeserializeDateTime(String text) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser('"' + text + '"')) {
+      parser.nextToken();
+      return dateTimeDeserializer.deserialize(parser, null);
+    }
+  }
+
+  private LocalDate deserializeDate(String text) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser('"' + text + '"')) {
+      parser.nextToken();
+      return dateDeserializer.deserialize(parser, null);
+    } catch (InvalidDateFormatException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.gpc.exchange.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gpc.exchange.model.Exchange;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class QuoteRandomWalkTest {
+
+  private static final LocalDateTime DATE_TIME = LocalDateTime.of(2025, 5, 9, 10, 0);
+
+  @Test
+  void testSameSeedProducesSameQuotes() {
+    // Arrange
+    QuoteRandomWalk walk = new QuoteRandomWalk(42, QuoteRandomWalk.INITIAL_BUY, 1_000);
+    QuoteRandomWalk replay = new QuoteRandomWalk(42, QuoteRandomWalk.INITIAL_BUY, 1_000);
+
+    // Act & Assert
+    for (int i = 0; i < 1_000; i++) {
+      assertEquals(walk.next(DATE_TIME), replay.next(DATE_TIME));
+    }
+  }
+
+  @Test
+  void testQuotesKeepSpreadAndDailyVolatility() {
+    // Arrange
+    int stepsPerDay = 10_000;
+    QuoteRandomWalk walk = new QuoteRandomWalk(7, QuoteRandomWalk.INITIAL_BUY, stepsPerDay);
+    List<Double> dailyReturns = new ArrayList<>();
+
+    // Act
+    double open = QuoteRandomWalk.INITIAL_BUY;
+    for (int day = 0; day < 200; day++) {
+      Exchange last = null;
+      for (int i = 0; i < stepsPerDay; i++) {
+        last = walk.next(DATE_TIME);
+        assertEquals(QuoteRandomWalk.SPREAD, last.getSell() - last.getBuy(), 1e-9);
+        assertEquals(DATE_TIME, last.getDateTime());
+        assertNull(last.getId());
+      }
+      dailyReturns.add(Math.log(last.getBuy() / open));
+      open = last.getBuy();
+    }
+
+    // Assert
+    double mean = dailyReturns.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+    double variance = dailyReturns.stream().mapToDouble(r -> (r - mean) * (r - mean)).sum() / (dailyReturns.size() - 1);
+    assertEquals(QuoteRandomWalk.DAILY_VOLATILITY, Math.sqrt(variance), QuoteRandomWalk.DAILY_VOLATILITY * 0.2);
+  }
+}